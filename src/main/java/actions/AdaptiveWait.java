@@ -0,0 +1,75 @@
+package actions;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * AdaptiveWait is a {@link Wait} like WebDriverWait, Sleeping between checks as its {@link PollingStrategy} defines
+ * instead of a fixed interval.
+ * <br>It keeps no state between calls, So one instance per timeout and strategy is reused by all waits of a session.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Checks the condition immediately, Then sleeps the strategy's interval (never past the timeout) between checks.</li>
+ *   <li>Ignores {@link NotFoundException} while waiting, And fails with a {@link TimeoutException} caused by the last one.</li>
+ *   <li>A condition is met once it returns a non-null value other than {@code false}.</li>
+ * </ul>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+final class AdaptiveWait implements Wait<WebDriver> {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final PollingStrategy strategy;
+
+    AdaptiveWait(WebDriver driver, Duration timeout, PollingStrategy strategy) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.strategy = strategy;
+    }
+
+    @Override
+    public <T> T until(Function<? super WebDriver, T> isTrue) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        RuntimeException lastException = null;
+        for (int poll = 1; ; poll++) {
+            try {
+                T value = isTrue.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    log.debug("Condition '{}' is met after '{}' checks in '{}' ms with '{}' polling.", isTrue, poll,
+                            (System.nanoTime() - start) / 1_000_000, strategy);
+                    return value;
+                }
+                lastException = null;
+            } catch (NotFoundException e) {
+                lastException = e;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms with %s polling)",
+                        isTrue, timeout.toMillis(), strategy), lastException);
+            }
+            try {
+                Thread.sleep(Math.min(strategy.interval(poll).toMillis(), Math.max(1, remaining / 1_000_000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for " + isTrue, e);
+            }
+        }
+    }
+}
@@ -83,6 +83,7 @@ public class BrowserActions {
         }
         WebDriver driver = resolveActiveDriver();
         driver.navigate().to(url);
+        ElementCache.invalidate(driver, "navigation");
         log.info("Navigated to URL: '{}'", url);
     }
 
@@ -92,6 +93,7 @@ public class BrowserActions {
     public static void navigateBack() {
         WebDriver driver = resolveActiveDriver();
         driver.navigate().back();
+        ElementCache.invalidate(driver, "navigation");
         log.info("Navigated back in browser history.");
     }
 
@@ -101,6 +103,7 @@ public class BrowserActions {
     public static void navigateForward() {
         WebDriver driver = resolveActiveDriver();
         driver.navigate().forward();
+        ElementCache.invalidate(driver, "navigation");
         log.info("Navigated forward in browser history.");
     }
 
@@ -110,6 +113,7 @@ public class BrowserActions {
     public static void refreshPage() {
         WebDriver driver = resolveActiveDriver();
         driver.navigate().refresh();
+        ElementCache.invalidate(driver, "navigation");
         log.info("Refreshed the current page.");
     }
 
@@ -249,7 +253,9 @@ public class BrowserActions {
      * @param windowHandle handle of the window/tab
      */
     public static void switchToWindow(String windowHandle) {
-        resolveActiveDriver().switchTo().window(windowHandle);
+        WebDriver driver = resolveActiveDriver();
+        driver.switchTo().window(windowHandle);
+        ElementCache.invalidate(driver, "window switch");
         log.info("Switched to window with handle: '{}'", windowHandle);
     }
 
@@ -272,6 +278,7 @@ public class BrowserActions {
         WebDriver driver = resolveActiveDriver();
         try {
             driver.switchTo().newWindow(WindowType.TAB);
+            ElementCache.invalidate(driver, "window switch");
             log.info("Opened and switched to a new tab.");
         } catch (Exception e) {
             log.error("Opening new tab not supported.");
@@ -284,6 +291,7 @@ public class BrowserActions {
         WebDriver driver = resolveActiveDriver();
         try {
             driver.switchTo().newWindow(WindowType.WINDOW);
+            ElementCache.invalidate(driver, "window switch");
             log.info("Opened and switched to a new window.");
         } catch (Exception e) {
             log.error("Opening new window not supported.");
@@ -293,7 +301,9 @@ public class BrowserActions {
 
     /** Closes the current window/tab. */
     public static void closeWindow() {
-        resolveActiveDriver().close();
+        WebDriver driver = resolveActiveDriver();
+        driver.close();
+        ElementCache.invalidate(driver, "window close");
         log.info("Closed current window.");
     }
 
@@ -306,7 +316,9 @@ public class BrowserActions {
      * @param frameId frame index
      */
     public static void switchToFrame(int frameId) {
-        resolveActiveDriver().switchTo().frame(frameId);
+        WebDriver driver = resolveActiveDriver();
+        driver.switchTo().frame(frameId);
+        ElementCache.invalidate(driver, "frame switch");
         log.info("Switched to frame with index: {}", frameId);
     }
 
@@ -316,7 +328,9 @@ public class BrowserActions {
      * @param frameName frame name or ID
      */
     public static void switchToFrame(String frameName) {
-        resolveActiveDriver().switchTo().frame(frameName);
+        WebDriver driver = resolveActiveDriver();
+        driver.switchTo().frame(frameName);
+        ElementCache.invalidate(driver, "frame switch");
         log.info("Switched to frame with name/ID: '{}'", frameName);
     }
 
@@ -326,19 +340,25 @@ public class BrowserActions {
      * @param frameElement frame WebElement
      */
     public static void switchToFrame(WebElement frameElement) {
-        resolveActiveDriver().switchTo().frame(frameElement);
+        WebDriver driver = resolveActiveDriver();
+        driver.switchTo().frame(frameElement);
+        ElementCache.invalidate(driver, "frame switch");
         log.info("Switched to frame: {}", describeElement(frameElement));
     }
 
     /** Switches back to the parent frame. */
     public static void switchToParentFrame() {
-        resolveActiveDriver().switchTo().parentFrame();
+        WebDriver driver = resolveActiveDriver();
+        driver.switchTo().parentFrame();
+        ElementCache.invalidate(driver, "frame switch");
         log.info("Switched to parent frame.");
     }
 
     /** Switches back to the default content. */
     public static void switchToDefaultContent() {
-        resolveActiveDriver().switchTo().defaultContent();
+        WebDriver driver = resolveActiveDriver();
+        driver.switchTo().defaultContent();
+        ElementCache.invalidate(driver, "frame switch");
         log.info("Switched to default content.");
     }
 
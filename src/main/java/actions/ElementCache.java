@@ -0,0 +1,195 @@
+package actions;
+
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * ElementCache keeps the element references resolved in a driver session, So locating the same element again
+ * reuses its handle instead of sending another findElement command to the driver.
+ * <br>A reused handle is checked against the wait condition of the lookup, And a stale handle is dropped and re-resolved.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>One cache per session, Keyed by {@link UIActions.LocatorType} and selector.</li>
+ *   <li>Invalidated on navigation, window/frame/context switches, session release, And after the actions
+ *   listed in {@code elementCacheInvalidatingActions} (e.g., a click that opens another screen).</li>
+ *   <li>Counts hits, misses, stale re-resolves and invalidations of the run, And the findElement round-trips saved.</li>
+ *   <li>Enabled by {@code elementCacheEnabled} in Config.properties.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ElementCache.invalidate(driver, "navigation");
+ * // ... at the end of the run ...
+ * log.info(ElementCache.getMetricsReport());
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public final class ElementCache {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String CONFIG_PATH = "src/test/resources/Config.properties";
+
+    private static final Map<WebDriver, ElementCache> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder staleReResolves = new LongAdder();
+    private static final LongAdder invalidations = new LongAdder();
+    private static volatile Boolean enabled;
+    private static volatile Set<String> invalidatingActions = Set.of();
+
+    private final Map<String, WebElement> elements = new ConcurrentHashMap<>();
+
+    private ElementCache() {
+    }
+
+    /**
+     * @return {@code true} if {@code elementCacheEnabled} is true in Config.properties, Read once per run
+     */
+    public static boolean isEnabled() {
+        if (enabled == null) {
+            try {
+                ConfigLoader config = new ConfigLoader(CONFIG_PATH);
+                String actions = config.getValue("elementCacheInvalidatingActions");
+                if (actions != null) {
+                    invalidatingActions = Arrays.stream(actions.split(","))
+                            .map(String::trim)
+                            .filter(action -> !action.isEmpty())
+                            .collect(Collectors.toUnmodifiableSet());
+                }
+                enabled = Boolean.parseBoolean(config.getValue("elementCacheEnabled"));
+            } catch (Exception e) {
+                log.warn("Failed to read 'elementCacheEnabled', Elements won't be cached: {}", e.getMessage());
+                enabled = false;
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * @param driver the driver session
+     * @return the element cache of the session, Created on first use
+     */
+    public static ElementCache of(WebDriver driver) {
+        return sessions.computeIfAbsent(driver, session -> new ElementCache());
+    }
+
+    /**
+     * Drops all the element references of the session, As they may belong to a page or context that is gone.
+     *
+     * @param driver the driver session
+     * @param reason what made the references invalid (e.g., "navigation"), For the log
+     */
+    public static void invalidate(WebDriver driver, String reason) {
+        ElementCache cache = sessions.get(driver);
+        if (cache != null) {
+            cache.invalidate(reason);
+        }
+    }
+
+    /**
+     * Discards the cache of a session that is quit or reset for another test.
+     *
+     * @param driver the driver session
+     */
+    public static void discard(WebDriver driver) {
+        ElementCache cache = sessions.remove(driver);
+        if (cache != null && !cache.elements.isEmpty()) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * @return a one-line summary of the run, e.g. "Element cache metrics: hits=120, misses=80, hitRate=60.0%, ..."
+     */
+    public static String getMetricsReport() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        long stale = staleReResolves.sum();
+        return String.format("Element cache metrics: enabled=%s, hits=%d, misses=%d, hitRate=%.1f%%, staleReResolves=%d, "
+                        + "invalidations=%d, roundTripsSaved=%d",
+                isEnabled(), hitCount, misses.sum(), lookups == 0 ? 0.0 : hitCount * 100.0 / lookups, stale,
+                invalidations.sum(), Math.max(0, hitCount - stale));   // Each stale handle costs the failed command
+    }
+
+    /**
+     * Returns the cached element if it's still attached and usable, Otherwise drops it.
+     *
+     * @param locator  the locator type
+     * @param selector the selector
+     * @param usable   checks the cached element against the wait condition of the lookup
+     * @return the cached element, or {@code null} if it must be resolved again
+     */
+    WebElement get(UIActions.LocatorType locator, String selector, Predicate<WebElement> usable) {
+        String key = keyOf(locator, selector);
+        WebElement element = elements.get(key);
+        if (element != null) {
+            try {
+                if (usable.test(element)) {
+                    hits.increment();
+                    return element;
+                }
+            } catch (StaleElementReferenceException e) {
+                staleReResolves.increment();
+                log.debug("Cached element [{}: '{}'] is stale, It will be resolved again.", locator, selector);
+            }
+            elements.remove(key, element);
+        }
+        misses.increment();
+        return null;
+    }
+
+    void put(UIActions.LocatorType locator, String selector, WebElement element) {
+        elements.put(keyOf(locator, selector), element);
+    }
+
+    /**
+     * Drops a cached element found stale while acting on it.
+     */
+    void evictStale(UIActions.LocatorType locator, String selector) {
+        if (elements.remove(keyOf(locator, selector)) != null) {
+            staleReResolves.increment();
+        }
+    }
+
+    /**
+     * Invalidates the cache if the action is listed in {@code elementCacheInvalidatingActions}.
+     *
+     * @param action the UIActions method name (e.g., "click")
+     */
+    void afterAction(String action) {
+        if (invalidatingActions.contains(action)) {
+            invalidate(action);
+        }
+    }
+
+    private void invalidate(String reason) {
+        if (!elements.isEmpty()) {
+            elements.clear();
+            invalidations.increment();
+            log.debug("Element cache is invalidated by '{}'.", reason);
+        }
+    }
+
+    private static String keyOf(UIActions.LocatorType locator, String selector) {
+        return locator + "|" + selector;
+    }
+}
@@ -0,0 +1,70 @@
+package actions;
+
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * Defines how often UIActions waits re-check their condition.
+ * <br>Every strategy checks the condition immediately first, They differ in the sleep between the following checks.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>{@code fixed}: 500 ms between checks, The WebDriverWait default.</li>
+ *   <li>{@code fast}: 50 ms between checks, For conditions met within a few hundred ms (more commands to the driver).</li>
+ *   <li>{@code backoff}: 25 ms doubling up to 500 ms, So quick conditions are caught early and slow ones poll like {@code fixed}.</li>
+ *   <li>Selected globally by {@code waitPollingStrategy} in Config.properties, And per call in UIActions.</li>
+ * </ul>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public enum PollingStrategy {
+    fixed,
+    fast,
+    backoff;
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String CONFIG_PATH = "src/test/resources/Config.properties";
+    private static final Duration FIXED_INTERVAL = Duration.ofMillis(500);
+    private static final Duration FAST_INTERVAL = Duration.ofMillis(50);
+    private static final Duration BACKOFF_INITIAL_INTERVAL = Duration.ofMillis(25);
+    private static final int BACKOFF_MAX_DOUBLINGS = 5;                   // 25 ms * 2^5 = 800 ms, Capped to 500 ms
+
+    private static volatile PollingStrategy defaultStrategy;
+
+    /**
+     * @param poll the number of checks made so far, Starting at 1 after the immediate first check
+     * @return the sleep before the next check
+     */
+    public Duration interval(int poll) {
+        return switch (this) {
+            case fixed -> FIXED_INTERVAL;
+            case fast -> FAST_INTERVAL;
+            case backoff -> {
+                Duration interval = BACKOFF_INITIAL_INTERVAL.multipliedBy(1L << Math.min(Math.max(poll - 1, 0), BACKOFF_MAX_DOUBLINGS));
+                yield interval.compareTo(FIXED_INTERVAL) < 0 ? interval : FIXED_INTERVAL;
+            }
+        };
+    }
+
+    /**
+     * @return the strategy of {@code waitPollingStrategy} in Config.properties ({@code fixed} if not set), Read once per run
+     */
+    public static PollingStrategy getDefault() {
+        if (defaultStrategy == null) {
+            try {
+                String configured = new ConfigLoader(CONFIG_PATH).getValue("waitPollingStrategy");
+                defaultStrategy = configured == null || configured.isEmpty() ? fixed : valueOf(configured.trim());
+            } catch (Exception e) {
+                log.warn("Failed to read 'waitPollingStrategy', '{}' polling will be used: {}", fixed, e.getMessage());
+                defaultStrategy = fixed;
+            }
+        }
+        return defaultStrategy;
+    }
+}
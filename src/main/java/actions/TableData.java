@@ -0,0 +1,92 @@
+package actions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TableData is the content of a table extracted by {@link UIActions#extractTable}, As header names and typed rows.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TableData table = uiActions.extractTable(LocatorType.id, "orders", LocatorType.tagName, "tr", LocatorType.tagName, "td");
+ * String total = table.rows().get(0).get("Total");
+ * List<String> ids = table.column("Order ID");
+ * }</pre>
+ *
+ * @param headers the header names, Empty if the table has no header row
+ * @param rows    the rows, In table order
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public record TableData(List<String> headers, List<Row> rows) {
+
+    public TableData {
+        headers = List.copyOf(headers);
+        rows = List.copyOf(rows);
+    }
+
+    /**
+     * One table row.
+     *
+     * @param index      the row position (or its {@code aria-rowindex} in virtualized grids)
+     * @param headers    the header names of the table
+     * @param cells      the text of each cell
+     * @param attributes the requested attributes of each cell, One map per cell (empty maps if none were requested)
+     */
+    public record Row(int index, List<String> headers, List<String> cells, List<Map<String, String>> attributes) {
+
+        public Row {
+            headers = List.copyOf(headers);
+            cells = List.copyOf(cells);
+            attributes = List.copyOf(attributes);
+        }
+
+        /**
+         * @param column the cell position
+         * @return the text of the cell, or {@code null} if the row has fewer cells
+         */
+        public String cell(int column) {
+            return column < cells.size() ? cells.get(column) : null;
+        }
+
+        /**
+         * @param header the header name
+         * @return the text of the cell under the header, or {@code null} if the row has fewer cells
+         * @throws IllegalArgumentException if the table has no such header
+         */
+        public String get(String header) {
+            int column = headers.indexOf(header);
+            if (column < 0) {
+                throw new IllegalArgumentException("Table has no header '" + header + "', Headers: " + headers);
+            }
+            return cell(column);
+        }
+
+        /**
+         * @param column    the cell position
+         * @param attribute the attribute name
+         * @return the attribute of the cell, or {@code null} if it wasn't requested or isn't set
+         */
+        public String attribute(int column, String attribute) {
+            return column < attributes.size() ? attributes.get(column).get(attribute) : null;
+        }
+    }
+
+    /**
+     * @param header the header name
+     * @return the text of the column's cells, One per row
+     */
+    public List<String> column(String header) {
+        return rows.stream().map(row -> row.get(header)).toList();
+    }
+
+    /**
+     * @return the text of all cells row by row, Like {@link UIActions#getTableCellValues}
+     */
+    public List<String> cellValues() {
+        List<String> values = new ArrayList<>();
+        rows.forEach(row -> values.addAll(row.cells()));
+        return values;
+    }
+}
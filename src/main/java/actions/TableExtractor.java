@@ -0,0 +1,328 @@
+package actions;
+
+import io.appium.java_client.remote.SupportsContextSwitching;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * TableExtractor reads a whole table in as few driver round-trips as possible, Backing {@link UIActions#extractTable}
+ * and {@link UIActions#streamTable}.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Web: One script call returns the headers, rows, cells and requested cell attributes.</li>
+ *   <li>Native apps: One page source fetch, Rows and cells are selected in the XML hierarchy.</li>
+ *   <li>Paged mode: Pages of rows per script call, Scrolling the last row into view so lazily rendered rows appear,
+ *   And using {@code aria-rowindex} (if set) to continue virtualized grids that recycle their rows.</li>
+ *   <li>Falls back to per-row/per-cell lookups for locators that can't be evaluated in a script or page source.</li>
+ * </ul>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+final class TableExtractor {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+
+    private static final Set<UIActions.LocatorType> SCRIPT_LOCATORS = EnumSet.of(UIActions.LocatorType.css,
+            UIActions.LocatorType.tagName, UIActions.LocatorType.className, UIActions.LocatorType.id,
+            UIActions.LocatorType.name, UIActions.LocatorType.xPath);
+
+    /**
+     * Returns up to pageSize rows (all if negative) after the given row index, With the headers.
+     * <br>Rows having header cells only are taken as the header row.
+     */
+    private static final String TABLE_PAGE_SCRIPT = """
+            var table = arguments[0], rowLocator = arguments[1], rowSelector = arguments[2], cellLocator = arguments[3],
+                cellSelector = arguments[4], attributes = arguments[5], after = arguments[6], pageSize = arguments[7];
+            function find(context, locator, selector) {
+                switch (locator) {
+                    case 'css': return Array.from(context.querySelectorAll(selector));
+                    case 'tagName': return Array.from(context.getElementsByTagName(selector));
+                    case 'className': return Array.from(context.getElementsByClassName(selector));
+                    case 'id': return Array.from(context.querySelectorAll('[id="' + CSS.escape(selector) + '"]'));
+                    case 'name': return Array.from(context.querySelectorAll('[name="' + CSS.escape(selector) + '"]'));
+                    case 'xPath':
+                        var snapshot = document.evaluate(selector, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        var nodes = [];
+                        for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));
+                        return nodes;
+                }
+                return [];
+            }
+            function text(element) { return (element.innerText || '').trim(); }
+            var headers = Array.from(table.querySelectorAll('thead th')).map(text);
+            var rows = find(table, rowLocator, rowSelector).filter(function (row) {
+                if (find(row, cellLocator, cellSelector).length === 0 && row.querySelector('th')) {
+                    if (headers.length === 0) headers = Array.from(row.querySelectorAll('th')).map(text);
+                    return false;
+                }
+                return true;
+            });
+            var page = [], last = null;
+            for (var r = 0; r < rows.length && (pageSize < 0 || page.length < pageSize); r++) {
+                var rowIndex = parseInt(rows[r].getAttribute('aria-rowindex'), 10);
+                var index = isNaN(rowIndex) ? r : rowIndex;
+                if (index <= after) continue;
+                var cells = find(rows[r], cellLocator, cellSelector);
+                page.push({
+                    index: index,
+                    cells: cells.map(text),
+                    attributes: cells.map(function (cell) {
+                        var values = {};
+                        attributes.forEach(function (attribute) { values[attribute] = cell.getAttribute(attribute); });
+                        return values;
+                    })
+                });
+                last = rows[r];
+            }
+            if (last && pageSize > 0) last.scrollIntoView({block: 'end'});
+            return {headers: headers, rows: page};
+            """;
+
+    /**
+     * The locators of a table, Its rows within the table and its cells within each row.
+     */
+    record TableSpec(UIActions.LocatorType tableLocator, String tableSelector,
+                     UIActions.LocatorType rowLocator, String rowSelector,
+                     UIActions.LocatorType cellLocator, String cellSelector,
+                     List<String> cellAttributes) {
+    }
+
+    private final UIActions uiActions;
+    private final WebDriver driver;
+    private boolean scriptsSupported = true;
+
+    TableExtractor(UIActions uiActions, WebDriver driver) {
+        this.uiActions = uiActions;
+        this.driver = driver;
+    }
+
+    /**
+     * Detects again whether scripts are supported, After a switch to another context.
+     */
+    void onContextSwitch() {
+        scriptsSupported = true;
+    }
+
+    /**
+     * Extracts the whole table.
+     * <br>A script error (e.g., an invalid row or cell selector) is thrown, Only an unsupported command disables scripts.
+     */
+    TableData extract(TableSpec spec) {
+        WebElement table = uiActions.findWebElement(spec.tableLocator(), spec.tableSelector(), UIActions.ExplicitWaitCondition.visibilityOfElement);
+        boolean nativeContext = isNativeContext();
+        if (!nativeContext && canScript(spec)) {
+            try {
+                TableData data = scriptPage(table, spec, -1, -1);
+                log.info("Extracted '{}' rows of table [{}: '{}'] in one script call.", data.rows().size(), spec.tableLocator(), spec.tableSelector());
+                return data;
+            } catch (UnsupportedCommandException e) {
+                disableScripts(e);
+            }
+        }
+        if (nativeContext && canUsePageSource(spec)) {
+            TableData data = fromPageSource(spec);
+            log.info("Extracted '{}' rows of table [{}: '{}'] from one page source.", data.rows().size(), spec.tableLocator(), spec.tableSelector());
+            return data;
+        }
+        TableData data = perElement(table, spec);
+        log.info("Extracted '{}' rows of table [{}: '{}'] cell by cell.", data.rows().size(), spec.tableLocator(), spec.tableSelector());
+        return data;
+    }
+
+    /**
+     * Streams the table's rows to the consumer page by page, So very large or virtualized tables are never held at once.
+     * <br>Without script support the table is extracted whole and then streamed,
+     * If scripts stop being supported mid-stream, Only the rows after those already streamed are delivered.
+     *
+     * @return the number of streamed rows
+     */
+    int stream(TableSpec spec, int pageSize, Consumer<TableData.Row> consumer) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        WebElement table = uiActions.findWebElement(spec.tableLocator(), spec.tableSelector(), UIActions.ExplicitWaitCondition.visibilityOfElement);
+        int streamed = 0;
+        if (!isNativeContext() && canScript(spec)) {
+            try {
+                int pages = 0;
+                int after = -1;
+                List<TableData.Row> page;
+                while (!(page = scriptPage(table, spec, after, pageSize).rows()).isEmpty()) {
+                    page.forEach(consumer);
+                    streamed += page.size();
+                    pages++;
+                    after = page.getLast().index();
+                }
+                log.info("Streamed '{}' rows of table [{}: '{}'] in '{}' pages.", streamed, spec.tableLocator(), spec.tableSelector(), pages);
+                return streamed;
+            } catch (UnsupportedCommandException e) {
+                disableScripts(e);
+            }
+        }
+        List<TableData.Row> rows = extract(spec).rows();
+        List<TableData.Row> remaining = rows.subList(Math.min(streamed, rows.size()), rows.size());  // Resume after the streamed rows
+        remaining.forEach(consumer);
+        return streamed + remaining.size();
+    }
+
+    private void disableScripts(UnsupportedCommandException e) {
+        scriptsSupported = false;
+        log.warn("Scripts aren't supported by this driver/context, Tables will be read element by element: {}", e.getMessage());
+    }
+
+    /**
+     * @return {@code true} if the driver is in a native app context, Where tables are read from the page source
+     */
+    private boolean isNativeContext() {
+        if (!(driver instanceof SupportsContextSwitching contexts)) {
+            return false;
+        }
+        String context = contexts.getContext();
+        return context == null || context.startsWith("NATIVE_APP");
+    }
+
+    private boolean canScript(TableSpec spec) {
+        return scriptsSupported && driver instanceof JavascriptExecutor
+                && SCRIPT_LOCATORS.contains(spec.rowLocator()) && SCRIPT_LOCATORS.contains(spec.cellLocator());
+    }
+
+    private static boolean canUsePageSource(TableSpec spec) {
+        return toXPath(spec.tableLocator(), spec.tableSelector(), false) != null
+                && toXPath(spec.rowLocator(), spec.rowSelector(), false) != null
+                && toXPath(spec.cellLocator(), spec.cellSelector(), false) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TableData scriptPage(WebElement table, TableSpec spec, int after, int pageSize) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(TABLE_PAGE_SCRIPT, table,
+                spec.rowLocator().name(), spec.rowSelector(), spec.cellLocator().name(), spec.cellSelector(),
+                spec.cellAttributes(), after, pageSize);
+        List<String> headers = ((List<Object>) result.get("headers")).stream().map(String::valueOf).toList();
+        List<TableData.Row> rows = new ArrayList<>();
+        for (Object value : (List<Object>) result.get("rows")) {
+            Map<String, Object> row = (Map<String, Object>) value;
+            List<String> cells = ((List<Object>) row.get("cells")).stream().map(String::valueOf).toList();
+            List<Map<String, String>> attributes = new ArrayList<>();
+            for (Object cellAttributes : (List<Object>) row.get("attributes")) {
+                Map<String, String> converted = new LinkedHashMap<>();
+                ((Map<String, Object>) cellAttributes).forEach((name, attribute) ->
+                        converted.put(name, attribute == null ? null : String.valueOf(attribute)));
+                attributes.add(converted);
+            }
+            rows.add(new TableData.Row(((Number) row.get("index")).intValue(), headers, cells, attributes));
+        }
+        return new TableData(headers, rows);
+    }
+
+    private TableData fromPageSource(TableSpec spec) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            Document source = factory.newDocumentBuilder().parse(new InputSource(new StringReader(driver.getPageSource())));
+            boolean ios = "AppiumAUT".equals(source.getDocumentElement().getNodeName());
+            XPath xpath = XPathFactory.newInstance().newXPath();
+
+            Node table = (Node) xpath.evaluate(toXPath(spec.tableLocator(), spec.tableSelector(), ios), source, XPathConstants.NODE);
+            if (table == null) {
+                throw new NoSuchElementException("Table [" + spec.tableLocator() + ": '" + spec.tableSelector() + "'] isn't in the page source.");
+            }
+            NodeList rowNodes = (NodeList) xpath.evaluate(toXPath(spec.rowLocator(), spec.rowSelector(), ios), table, XPathConstants.NODESET);
+            List<TableData.Row> rows = new ArrayList<>();
+            for (int r = 0; r < rowNodes.getLength(); r++) {
+                NodeList cellNodes = (NodeList) xpath.evaluate(toXPath(spec.cellLocator(), spec.cellSelector(), ios), rowNodes.item(r), XPathConstants.NODESET);
+                List<String> cells = new ArrayList<>();
+                List<Map<String, String>> attributes = new ArrayList<>();
+                for (int c = 0; c < cellNodes.getLength(); c++) {
+                    Element cell = (Element) cellNodes.item(c);
+                    cells.add(textOf(cell, ios));
+                    Map<String, String> values = new LinkedHashMap<>();
+                    spec.cellAttributes().forEach(attribute -> values.put(attribute, cell.hasAttribute(attribute) ? cell.getAttribute(attribute) : null));
+                    attributes.add(values);
+                }
+                rows.add(new TableData.Row(r, List.of(), cells, attributes));
+            }
+            return new TableData(List.of(), rows);
+        } catch (WebDriverException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new WebDriverException("Failed to extract table [" + spec.tableLocator() + ": '" + spec.tableSelector() + "'] from the page source.", e);
+        }
+    }
+
+    private TableData perElement(WebElement table, TableSpec spec) {
+        List<TableData.Row> rows = new ArrayList<>();
+        for (WebElement row : uiActions.findWebElementsInParent(table, spec.rowLocator(), spec.rowSelector())) {
+            List<String> cells = new ArrayList<>();
+            List<Map<String, String>> attributes = new ArrayList<>();
+            for (WebElement cell : uiActions.findWebElementsInParent(row, spec.cellLocator(), spec.cellSelector())) {
+                cells.add(cell.getText());
+                Map<String, String> values = new LinkedHashMap<>();
+                spec.cellAttributes().forEach(attribute -> values.put(attribute, cell.getDomAttribute(attribute)));
+                attributes.add(values);
+            }
+            rows.add(new TableData.Row(rows.size(), List.of(), cells, attributes));
+        }
+        return new TableData(List.of(), rows);
+    }
+
+    /**
+     * Translates a locator to an XPath over the Appium page source, Relative to the context node.
+     *
+     * @return the XPath, or {@code null} if the locator has no page source equivalent
+     */
+    private static String toXPath(UIActions.LocatorType locator, String selector, boolean ios) {
+        return switch (locator) {
+            case xPath -> selector;
+            case tagName -> ".//" + selector;
+            case id -> ".//*[@" + (ios ? "name" : "resource-id") + "=" + literal(selector) + "]";
+            case className -> ".//*[@" + (ios ? "type" : "class") + "=" + literal(selector) + "]";
+            case accessibilityId -> ".//*[@" + (ios ? "name" : "content-desc") + "=" + literal(selector) + "]";
+            default -> null;
+        };
+    }
+
+    private static String literal(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+
+    private static String textOf(Element cell, boolean ios) {
+        if (!ios) {
+            return cell.getAttribute("text");
+        }
+        String value = cell.getAttribute("value");
+        return value.isEmpty() ? cell.getAttribute("label") : value;
+    }
+}
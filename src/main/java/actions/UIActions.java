@@ -3,6 +3,7 @@ package actions;
 
 import io.appium.java_client.AppiumBy;
 import mobile.android.AndroidActions;
+import mobile.android.UiHierarchySnapshot;
 import mobileDriverFactory.GetMobileDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,13 +12,19 @@ import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.Wait;
 import webdriverfactory.GetWebDriver;
 
 import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.lang.invoke.MethodHandles.lookup;
@@ -32,6 +39,11 @@ import static java.lang.invoke.MethodHandles.lookup;
  * This utility class improves code reusability, readability, and consistency across test scripts.
  * </p>
  *
+ * <p>
+ * With {@code elementCacheEnabled}, Elements located by locator are cached per session (see {@link ElementCache}),
+ * And a cached element found stale is resolved again transparently.
+ * </p>
+ *
  * <p>Usage example:</p>
  * <pre>
  *     UIActions uiActions = new UIActions();
@@ -44,31 +56,112 @@ import static java.lang.invoke.MethodHandles.lookup;
 public class UIActions {
 
     private static final Logger log = LogManager.getLogger(lookup().lookupClass());
-    private final WebDriverWait wait;
+    private final Wait<WebDriver> wait;
+    private final Duration waitDuration;
+    private final Map<String, Wait<WebDriver>> waits = new HashMap<>();
     private final Actions actions;
     private final JavascriptExecutor js;
     private final WebDriver driver;
+    private final ElementCache elementCache;
+    private final TableExtractor tableExtractor;
+    private UiHierarchySnapshot hierarchySnapshot;
+    private boolean bulkReadsSupported = true;
+
+    /**
+     * Reads the given properties of each element in one call, Close to the per-element WebElement reads:
+     * <ul>
+     *   <li>{@code text}: The rendered text with whitespace collapsed and trimmed per line and empty lines dropped, Like getText.</li>
+     *   <li>{@code enabled}: Follows {@code :disabled}, So controls in a disabled fieldset or optgroup are disabled, Like isEnabled.</li>
+     *   <li>{@code displayed}: Has layout boxes and isn't hidden by visibility/display, Unlike isDisplayed it ignores
+     *   opacity and overflow clipping.</li>
+     * </ul>
+     */
+    private static final String BULK_READ_SCRIPT = """
+            var elements = arguments[0], properties = arguments[1];
+            return elements.map(function (element) {
+                var values = {};
+                properties.forEach(function (property) {
+                    switch (property) {
+                        case 'text':
+                            values[property] = (element.innerText || '').replace(/\\u00a0/g, ' ').split('\\n')
+                                .map(function (line) { return line.replace(/[ \\t\\r\\f\\v]+/g, ' ').trim(); })
+                                .filter(function (line) { return line.length > 0; })
+                                .join('\\n');
+                            break;
+                        case 'displayed':
+                            var style = window.getComputedStyle(element);
+                            values[property] = element.getClientRects().length > 0
+                                && style.visibility !== 'hidden' && style.display !== 'none';
+                            break;
+                        case 'enabled':
+                            values[property] = !element.matches(':disabled');
+                            break;
+                        case 'selected':
+                            values[property] = !!(element.checked || element.selected);
+                            break;
+                        case 'tagName':
+                            values[property] = element.tagName.toLowerCase();
+                            break;
+                        default:
+                            values[property] = element.getAttribute(property);
+                    }
+                });
+                return values;
+            });
+            """;
 
 
     /**
-     * Initializes WebDriver, WebDriverWait, Actions, and JavascriptExecutor instances.
+     * Initializes WebDriver, Wait (polling as {@code waitPollingStrategy}), Actions, and JavascriptExecutor instances.
      *
      * @param waitDuration related to that element to be used.
      */
     public UIActions(int waitDuration, platform WebOrMobile) {
+        this(localDriver(WebOrMobile), waitDuration);
+    }
+
+    /**
+     * Initializes the actions of the given driver, Like {@link #UIActions(int, platform)} does for the driver of this thread.
+     *
+     * @param driver       the driver session (e.g., a simulated driver of a benchmark)
+     * @param waitDuration related to that element to be used.
+     */
+    UIActions(WebDriver driver, int waitDuration) {
         log.info("Initializing UIActions object.");
-        checkNullDriver();
-        if (WebOrMobile.equals(platform.web)) {
-            driver = GetWebDriver.getLocalDriver();
-        } else {
-            driver = GetMobileDriver.getLocalDriver();
-        }
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(waitDuration));
+        this.driver = driver;
+        this.waitDuration = Duration.ofSeconds(waitDuration);
+        this.wait = waitFor(this.waitDuration, PollingStrategy.getDefault());
         this.actions = new Actions(driver);
         js = (JavascriptExecutor) driver;
+        elementCache = ElementCache.isEnabled() ? ElementCache.of(driver) : null;
+        tableExtractor = new TableExtractor(this, driver);
         log.info("UIActions initialized with wait duration: '{}' seconds", waitDuration);
     }
 
+    /**
+     * Returns the wait of this session for the timeout and polling strategy, Created once and reused by later waits.
+     *
+     * @param timeout  the maximum time to wait
+     * @param strategy the polling strategy
+     * @return the wait
+     */
+    private Wait<WebDriver> waitFor(Duration timeout, PollingStrategy strategy) {
+        return waits.computeIfAbsent(timeout.toMillis() + "|" + strategy, key -> new AdaptiveWait(driver, timeout, strategy));
+    }
+
+    /**
+     * Waits until the condition returns a non-null value other than {@code false}, Polling as the given strategy defines.
+     *
+     * @param condition the condition (e.g., an {@link ExpectedConditions} condition)
+     * @param timeout   the maximum time to wait
+     * @param strategy  the polling strategy of this wait
+     * @return the value returned by the condition
+     * @throws TimeoutException if the condition isn't met within the timeout
+     */
+    public <T> T waitUntil(Function<? super WebDriver, T> condition, Duration timeout, PollingStrategy strategy) {
+        return waitFor(timeout, strategy).until(condition);
+    }
+
     /**
      * Verifies that the WebDriver instance has been properly initialized.
      * <p>
@@ -86,6 +179,17 @@ public class UIActions {
         }
     }
 
+    /**
+     * @return the driver of this thread for the platform, After {@link #checkNullDriver()}
+     */
+    private static WebDriver localDriver(platform WebOrMobile) {
+        checkNullDriver();
+        if (WebOrMobile.equals(platform.web)) {
+            return GetWebDriver.getLocalDriver();
+        }
+        return GetMobileDriver.getLocalDriver();
+    }
+
     //________________________________________________________________________________________________________________//
     //Enumeration
 
@@ -202,6 +306,8 @@ public class UIActions {
 
     /**
      * Finds a webElement using the specified locator and explicit wait condition.
+     * <br>If the element cache is enabled, A cached element still meeting the condition is returned without a lookup,
+     * And a cached element found with presenceOfElement or none is checked to be still attached, As the caller may keep it.
      *
      * @param locator   The type of locator (e.g., ID, CSS, XPATH).
      * @param selector  The locator string used to find the element.
@@ -209,16 +315,48 @@ public class UIActions {
      * @return The found WebElement after waiting for the condition, or null if unsupported condition.
      */
     public WebElement findWebElement(LocatorType locator, String selector, ExplicitWaitCondition condition) {
+        return findWebElement(locator, selector, condition, wait, false);
+    }
+
+    /**
+     * Finds a webElement using the specified locator and explicit wait condition, Polling as the given strategy defines.
+     *
+     * @param locator   The type of locator (e.g., ID, CSS, XPATH).
+     * @param selector  The locator string used to find the element.
+     * @param condition The explicit wait condition to apply.
+     * @param strategy  The polling strategy of this wait, Instead of {@code waitPollingStrategy}.
+     * @return The found WebElement after waiting for the condition.
+     */
+    public WebElement findWebElement(LocatorType locator, String selector, ExplicitWaitCondition condition, PollingStrategy strategy) {
+        return findWebElement(locator, selector, condition, waitFor(waitDuration, strategy), false);
+    }
+
+    /**
+     * @param reResolvable {@code true} if the caller resolves the element again when it's stale (see {@link #readElement}),
+     *                     So a cached element found by presence is returned without checking it
+     */
+    private WebElement findWebElement(LocatorType locator, String selector, ExplicitWaitCondition condition,
+                                      Wait<WebDriver> activeWait, boolean reResolvable) {
+        if (elementCache != null) {
+            WebElement cached = elementCache.get(locator, selector, element -> meetsCondition(element, condition, reResolvable));
+            if (cached != null) {
+                log.info("Reused cached element located by [{}: '{}'] with wait condition '{}'.", locator, selector, condition);
+                return cached;
+            }
+        }
         try {
             WebElement element = switch (condition) {
                 case presenceOfElement ->
-                        wait.until(ExpectedConditions.presenceOfElementLocated(findLocator(locator, selector)));
+                        activeWait.until(ExpectedConditions.presenceOfElementLocated(findLocator(locator, selector)));
                 case elementToBeClickable ->
-                        wait.until(ExpectedConditions.elementToBeClickable(findLocator(locator, selector)));
+                        activeWait.until(ExpectedConditions.elementToBeClickable(findLocator(locator, selector)));
                 case visibilityOfElement ->
-                        wait.until(ExpectedConditions.visibilityOfElementLocated(findLocator(locator, selector)));
+                        activeWait.until(ExpectedConditions.visibilityOfElementLocated(findLocator(locator, selector)));
                 case none -> driver.findElement(findLocator(locator, selector));
             };
+            if (elementCache != null) {
+                elementCache.put(locator, selector, element);
+            }
             log.info("Successfully found element located by [{}: '{}'] with wait condition '{}'.", locator, selector, condition);
             return element;
         } catch (Exception e) {
@@ -228,6 +366,64 @@ public class UIActions {
         }
     }
 
+    /**
+     * Checks a cached element against the wait condition once, Without waiting.
+     * <br>Presence needs no command if a stale element is resolved again when it's acted on,
+     * Otherwise one cheap call throws {@link StaleElementReferenceException} if the element is detached.
+     */
+    private static boolean meetsCondition(WebElement element, ExplicitWaitCondition condition, boolean reResolvable) {
+        return switch (condition) {
+            case presenceOfElement, none -> {
+                if (!reResolvable) {
+                    element.isEnabled();
+                }
+                yield true;
+            }
+            case visibilityOfElement -> element.isDisplayed();
+            case elementToBeClickable -> element.isDisplayed() && element.isEnabled();
+        };
+    }
+
+    /**
+     * Finds an element and reads from it, Resolving it again once if the cached element is stale.
+     */
+    private <T> T readElement(LocatorType locator, String selector, ExplicitWaitCondition condition, Function<WebElement, T> read) {
+        WebElement element = findWebElement(locator, selector, condition, wait, true);
+        try {
+            return read.apply(element);
+        } catch (StaleElementReferenceException e) {
+            if (elementCache == null) {
+                throw e;
+            }
+            elementCache.evictStale(locator, selector);
+            log.info("Element located by [{}: '{}'] is stale, Resolving it again.", locator, selector);
+            return read.apply(findWebElement(locator, selector, condition, wait, true));
+        }
+    }
+
+    /**
+     * Finds an element and acts on it, Resolving it again once if the cached element is stale.
+     * <br>The element cache is invalidated afterwards if the action is one of {@code elementCacheInvalidatingActions}.
+     */
+    private void actOnElement(String action, LocatorType locator, String selector, ExplicitWaitCondition condition,
+                              Consumer<WebElement> act) {
+        readElement(locator, selector, condition, element -> {
+            act.accept(element);
+            return null;
+        });
+        afterAction(action);
+    }
+
+    /**
+     * Drops the UI hierarchy snapshot, And invalidates the element cache if the action is one of {@code elementCacheInvalidatingActions}.
+     */
+    private void afterAction(String action) {
+        hierarchySnapshot = null;
+        if (elementCache != null) {
+            elementCache.afterAction(action);
+        }
+    }
+
 
     /**
      * Finds and returns a list of elements matching the locator and explicit wait condition.
@@ -279,6 +475,37 @@ public class UIActions {
         }
     }
 
+    /**
+     * Returns a snapshot of the UI hierarchy to query locally, Capturing it with one page source call if needed.
+     * <br>The snapshot is reused until the next action of this class or gesture of {@link AndroidActions} changes the screen,
+     * Or {@link #invalidateHierarchySnapshot()} is called after the screen changed otherwise.
+     *
+     * @return the UI hierarchy snapshot of the current screen state
+     */
+    public UiHierarchySnapshot getHierarchySnapshot() {
+        if (hierarchySnapshot == null) {
+            hierarchySnapshot = UiHierarchySnapshot.capture(driver);
+        }
+        return hierarchySnapshot;
+    }
+
+    /**
+     * Drops the UI hierarchy snapshot, So the next {@link #getHierarchySnapshot()} captures the screen again.
+     */
+    public void invalidateHierarchySnapshot() {
+        hierarchySnapshot = null;
+    }
+
+    /**
+     * Resets the state of the previous context after a context switch (e.g., NATIVE_APP to WEBVIEW):
+     * Drops the UI hierarchy snapshot and detects again whether bulk reads and table scripts are supported.
+     */
+    public void onContextSwitch() {
+        hierarchySnapshot = null;
+        bulkReadsSupported = true;
+        tableExtractor.onContextSwitch();
+    }
+
 
     //________________________________________________________________________________________________________________//
     //Element Interactions
@@ -287,7 +514,7 @@ public class UIActions {
      * Clicks an element identified by locator and wait condition.
      */
     public void click(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        findWebElement(locator, selector, condition).click();
+        actOnElement("click", locator, selector, condition, WebElement::click);
         log.info("Clicked on element located by [{}: '{}'].", locator, selector);
     }
 
@@ -296,6 +523,7 @@ public class UIActions {
      */
     public void click(WebElement element) {
         element.click();
+        afterAction("click");
         log.info("Clicked on WebElement: '{}'.", describeElement(element));
     }
 
@@ -303,7 +531,7 @@ public class UIActions {
      * Clears text from an element identified by locator and wait condition.
      */
     public void clearText(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        findWebElement(locator, selector, condition).clear();
+        actOnElement("clearText", locator, selector, condition, WebElement::clear);
         log.info("Cleared text from element located by [{}: '{}'].", locator, selector);
     }
 
@@ -312,6 +540,7 @@ public class UIActions {
      */
     public void clearText(WebElement element) {
         element.clear();
+        afterAction("clearText");
         log.info("Cleared text from WebElement: '{}'.", describeElement(element));
     }
 
@@ -319,7 +548,7 @@ public class UIActions {
      * Sends keys to an element identified by locator and wait condition.
      */
     public void sendKeys(LocatorType locator, String selector, ExplicitWaitCondition condition, String text) {
-        findWebElement(locator, selector, condition).sendKeys(text);
+        actOnElement("sendKeys", locator, selector, condition, element -> element.sendKeys(text));
         log.info("Sent text '{}' to element located by [{}: '{}'].", text, locator, selector);
 
     }
@@ -329,6 +558,7 @@ public class UIActions {
      */
     public void sendKeys(WebElement element, String text) {
         element.sendKeys(text);
+        afterAction("sendKeys");
         log.info("Sent text '{}' to WebElement: '{}'.", text, describeElement(element));
 
     }
@@ -337,7 +567,7 @@ public class UIActions {
      * Gets text from an element identified by locator and wait condition.
      */
     public String getElementText(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        String text = findWebElement(locator, selector, condition).getText();
+        String text = readElement(locator, selector, condition, WebElement::getText);
         log.info("Retrieved text from element located by [{}: '{}']: '{}'.", locator, selector, text);
         return text;
     }
@@ -355,7 +585,7 @@ public class UIActions {
      * Checks if an element is displayed.
      */
     public boolean isElementDisplayed(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        boolean displayed = findWebElement(locator, selector, condition).isDisplayed();
+        boolean displayed = readElement(locator, selector, condition, WebElement::isDisplayed);
         log.info("Element located by [{}: '{}'] is displayed: '{}'.", locator, selector, displayed);
         return displayed;
     }
@@ -373,7 +603,7 @@ public class UIActions {
      * Checks if an element is enabled.
      */
     public boolean isElementEnabled(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        boolean enabled = findWebElement(locator, selector, condition).isEnabled();
+        boolean enabled = readElement(locator, selector, condition, WebElement::isEnabled);
         log.info("Element located by [{}: '{}'] is enabled: '{}'.", locator, selector, enabled);
         return enabled;
     }
@@ -391,7 +621,7 @@ public class UIActions {
      * Checks if an element is selected.
      */
     public boolean isElementSelected(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        boolean selected = findWebElement(locator, selector, condition).isSelected();
+        boolean selected = readElement(locator, selector, condition, WebElement::isSelected);
         log.info("Element located by [{}: '{}'] is selected: '{}'.", locator, selector, selected);
         return selected;
     }
@@ -409,7 +639,7 @@ public class UIActions {
      * Gets an attribute value from an element.
      */
     public String getElementAttribute(LocatorType locator, String selector, ExplicitWaitCondition condition, String attributeName) {
-        String value = findWebElement(locator, selector, condition).getDomAttribute(attributeName);
+        String value = readElement(locator, selector, condition, element -> element.getDomAttribute(attributeName));
         log.info("Retrieved attribute '{}' from element located by [{}: '{}'] is '{}'.", attributeName, locator, selector, value);
         return value;
     }
@@ -427,7 +657,7 @@ public class UIActions {
      * Gets the tag name of an element.
      */
     public String getElementTagName(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        String tagName = findWebElement(locator, selector, condition).getTagName();
+        String tagName = readElement(locator, selector, condition, WebElement::getTagName);
         log.info("Retrieved tag name from element located by [{}: '{}'] is '{}'.", locator, selector, tagName);
         return tagName;
     }
@@ -445,7 +675,7 @@ public class UIActions {
      * Executes JavaScript code on an element.
      */
     public void executeJavaScriptCode(LocatorType locator, String selector, ExplicitWaitCondition condition, String javaScript) {
-        js.executeScript(javaScript, findWebElement(locator, selector, condition));
+        actOnElement("executeJavaScriptCode", locator, selector, condition, element -> js.executeScript(javaScript, element));
         log.info("Executed JavaScript on element located by [{}: '{}'] with script: '{}'.", locator, selector, javaScript);
     }
 
@@ -454,6 +684,7 @@ public class UIActions {
      */
     public void executeJavaScriptCode(WebElement element, String javaScript) {
         js.executeScript(javaScript, element);
+        afterAction("executeJavaScriptCode");
         log.info("Executed JavaScript on WebElement '{}' with script: '{}'", describeElement(element), javaScript);
     }
 
@@ -469,7 +700,7 @@ public class UIActions {
      */
     public void waitForAttributeContainsValueOrFail(WebElement element, String attributeName, String expectedValue, int timeoutSec) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+            Wait<WebDriver> customWait = waitFor(Duration.ofSeconds(timeoutSec), PollingStrategy.getDefault());
 
             customWait.until((ExpectedCondition<Boolean>)
                     driver -> {
@@ -488,7 +719,7 @@ public class UIActions {
     /**
      * Waits until the specified WebElement is visible, enabled, and not readonly.
      * <p>
-     * This method uses WebDriverWait to repeatedly check whether the element:
+     * This method uses a reused session wait to repeatedly check whether the element:
      * <ul>
      *     <li>Is displayed on the page</li>
      *     <li>Is enabled for interaction</li>
@@ -502,7 +733,7 @@ public class UIActions {
      */
     public void waitUntilElementIsVisibleAndInteractableOrFail(WebElement element, int timeoutSec) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+            Wait<WebDriver> customWait = waitFor(Duration.ofSeconds(timeoutSec), PollingStrategy.getDefault());
 
             customWait.until((ExpectedCondition<Boolean>) driver -> {
                 boolean isVisible = isElementDisplayed(element);
@@ -524,7 +755,7 @@ public class UIActions {
 
     public void waitUntilInvisibilityOfElement(WebElement element, int timeoutSec) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+            Wait<WebDriver> customWait = waitFor(Duration.ofSeconds(timeoutSec), PollingStrategy.getDefault());
             customWait.until(ExpectedConditions.invisibilityOf(element));
             log.info("Element '{}' is now invisible.", describeElement(element));
         } catch (Exception e) {
@@ -536,7 +767,7 @@ public class UIActions {
     /**
      * Waits until the specified WebElement contains non-empty text within the given timeout.
      *
-     * <p>This method uses a custom WebDriverWait to poll the element until its text is not null,
+     * <p>This method uses a reused session wait to poll the element until its text is not null,
      * not empty, and not just whitespace. Useful for verifying dynamic content loading.</p>
      *
      * @param element    The WebElement to monitor for text.
@@ -545,7 +776,7 @@ public class UIActions {
      */
     public void waitUntilElementHaveText(WebElement element, int timeoutSec) {
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+            Wait<WebDriver> customWait = waitFor(Duration.ofSeconds(timeoutSec), PollingStrategy.getDefault());
 
             customWait.until((ExpectedCondition<Boolean>) driver -> {
                 String text = getElementText(element);
@@ -565,7 +796,7 @@ public class UIActions {
      * Waits until at least one file appears in the specified download directory within the given timeout.
      *
      * <p>This method is useful for verifying that a file download has completed by checking the presence
-     * of files in the target directory. It uses WebDriverWait to poll the directory contents.</p>
+     * of files in the target directory. It uses a reused session wait to poll the directory contents.</p>
      *
      * @param downloadDirPath The absolute path to the download directory.
      * @param timeoutSec      The maximum time to wait in seconds before timing out.
@@ -575,7 +806,7 @@ public class UIActions {
         File downloadDir = new File(downloadDirPath);
 
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+            Wait<WebDriver> customWait = waitFor(Duration.ofSeconds(timeoutSec), PollingStrategy.getDefault());
 
             customWait.until((ExpectedCondition<Boolean>) driver -> {
                 File[] files = downloadDir.listFiles();
@@ -594,7 +825,7 @@ public class UIActions {
      * Waits until exactly two PDF files appear in the specified download directory within the given timeout.
      *
      * <p>This method is useful for verifying that a file download has completed by checking for the presence
-     * of two files with a ".pdf" extension in the target directory. It uses WebDriverWait to poll the directory contents.</p>
+     * of two files with a ".pdf" extension in the target directory. It uses a reused session wait to poll the directory contents.</p>
      *
      * @param downloadDirPath The absolute path to the download directory.
      * @param timeoutSec      The maximum time to wait in seconds before timing out.
@@ -604,7 +835,7 @@ public class UIActions {
         File downloadDir = new File(downloadDirPath);
 
         try {
-            WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+            Wait<WebDriver> customWait = waitFor(Duration.ofSeconds(timeoutSec), PollingStrategy.getDefault());
 
             customWait.until((ExpectedCondition<Boolean>) driver -> {
 
@@ -620,6 +851,79 @@ public class UIActions {
         }
     }
 
+    //________________________________________________________________________________________________________________//
+    //Bulk Reads
+
+    /**
+     * Reads properties of all elements matching the locator, In one script call instead of a call per element and property.
+     * <br>Properties are {@code text}, {@code displayed}, {@code enabled}, {@code selected}, {@code tagName},
+     * Any other name is read as a DOM attribute (like {@link #getElementAttribute(WebElement, String)}).
+     *
+     * @param locator    The type of locator (e.g., ID, CSS, XPATH).
+     * @param selector   The locator string used to find the elements.
+     * @param condition  The explicit wait condition to apply (presenceOfElement or visibilityOfElement).
+     * @param properties The properties to read from each element.
+     * @return One map of property to value per element, In document order (booleans as "true"/"false").
+     */
+    public List<Map<String, String>> readElementsProperties(LocatorType locator, String selector, ExplicitWaitCondition condition,
+                                                            String... properties) {
+        try {
+            return readElementsProperties(findWebElements(locator, selector, condition), properties);
+        } catch (StaleElementReferenceException e) {
+            log.info("Elements located by [{}: '{}'] went stale while being read, Reading them again.", locator, selector);
+            return readElementsProperties(findWebElements(locator, selector, condition), properties);
+        }
+    }
+
+    /**
+     * Reads properties of the given elements, In one script call instead of a call per element and property.
+     * <br>Drivers or contexts without JavaScript support (e.g., native mobile apps) are read element by element.
+     *
+     * @param elements   The elements to read.
+     * @param properties The properties to read from each element (see {@link #readElementsProperties(LocatorType, String, ExplicitWaitCondition, String...)}).
+     * @return One map of property to value per element, In the order of the given elements.
+     */
+    public List<Map<String, String>> readElementsProperties(List<WebElement> elements, String... properties) {
+        if (elements.isEmpty() || properties.length == 0) {
+            return Collections.nCopies(elements.size(), Map.of());
+        }
+        if (bulkReadsSupported) {
+            try {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> values = (List<Map<String, Object>>) js.executeScript(BULK_READ_SCRIPT, elements, List.of(properties));
+                List<Map<String, String>> result = values.stream().map(UIActions::toStringValues).toList();
+                log.info("Read '{}' of '{}' elements in one script call.", String.join(", ", properties), elements.size());
+                return result;
+            } catch (UnsupportedCommandException e) {
+                bulkReadsSupported = false;
+                log.warn("Bulk reads aren't supported by this driver/context, Elements will be read one by one: {}", e.getMessage());
+            }
+        }
+        List<Map<String, String>> result = new ArrayList<>();
+        for (WebElement element : elements) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String property : properties) {
+                values.put(property, switch (property) {
+                    case "text" -> element.getText();
+                    case "displayed" -> String.valueOf(element.isDisplayed());
+                    case "enabled" -> String.valueOf(element.isEnabled());
+                    case "selected" -> String.valueOf(element.isSelected());
+                    case "tagName" -> element.getTagName();
+                    default -> element.getDomAttribute(property);
+                });
+            }
+            result.add(values);
+        }
+        log.info("Read '{}' of '{}' elements one by one.", String.join(", ", properties), elements.size());
+        return result;
+    }
+
+    private static Map<String, String> toStringValues(Map<String, Object> values) {
+        Map<String, String> converted = new LinkedHashMap<>();
+        values.forEach((property, value) -> converted.put(property, value == null ? null : String.valueOf(value)));
+        return converted;
+    }
+
 
     //________________________________________________________________________________________________________________//
     //Dropdown & Select Operations:
@@ -661,6 +965,7 @@ public class UIActions {
                 log.info("Deselected dropdown option with index: '{}'.", option);
                 break;
         }
+        afterAction("deselectDropDownOption");
     }
 
     /**
@@ -685,6 +990,7 @@ public class UIActions {
                 log.info("Selected dropdown option with index: '{}'.", option);
                 break;
         }
+        afterAction("selectDropDownOption");
     }
 
     /**
@@ -726,7 +1032,7 @@ public class UIActions {
      * @param condition The wait condition to apply before locating the element.
      */
     public void rightClick(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        actions.contextClick(findWebElement(locator, selector, condition)).perform();
+        actOnElement("rightClick", locator, selector, condition, element -> actions.contextClick(element).perform());
         log.info("Performed right-click on provided element located by '[{}: '{}']'.", locator, selector);
     }
 
@@ -737,6 +1043,7 @@ public class UIActions {
      */
     public void rightClick(WebElement element) {
         actions.contextClick(element).perform();
+        afterAction("rightClick");
         log.info("Performed right-click on provided WebElement: '{}'.", describeElement(element));
     }
 
@@ -748,7 +1055,7 @@ public class UIActions {
      * @param condition The wait condition to apply before locating the element.
      */
     public void doubleClick(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        actions.doubleClick(findWebElement(locator, selector, condition)).perform();
+        actOnElement("doubleClick", locator, selector, condition, element -> actions.doubleClick(element).perform());
         log.info("Performed double-click on provided element located by '[{}: '{}']'.", locator, selector);
     }
 
@@ -759,6 +1066,7 @@ public class UIActions {
      */
     public void doubleClick(WebElement element) {
         actions.doubleClick(element).perform();
+        afterAction("doubleClick");
         log.info("Performed double-click on provided WebElement: '{}'.", describeElement(element));
     }
 
@@ -771,7 +1079,8 @@ public class UIActions {
      * @param pauseDuration Duration to hold the click in seconds.
      */
     public void clickAndHold(LocatorType locator, String selector, ExplicitWaitCondition condition, int pauseDuration) {
-        actions.clickAndHold(findWebElement(locator, selector, condition)).pause(Duration.ofSeconds(pauseDuration)).release().perform();
+        actOnElement("clickAndHold", locator, selector, condition,
+                element -> actions.clickAndHold(element).pause(Duration.ofSeconds(pauseDuration)).release().perform());
         log.info("Performed click-and-hold on provided element located by '[{}: '{}']' for '{}' seconds.", locator, selector, pauseDuration);
     }
 
@@ -783,6 +1092,7 @@ public class UIActions {
      */
     public void clickAndHold(WebElement element, int pauseDuration) {
         actions.clickAndHold(element).pause(Duration.ofSeconds(pauseDuration)).release().perform();
+        afterAction("clickAndHold");
         log.info("Performed click-and-hold on provided WebElement: '{}' for '{}' seconds.", describeElement(element), pauseDuration);
     }
 
@@ -794,7 +1104,7 @@ public class UIActions {
      * @param condition The wait condition to apply before locating the element.
      */
     public void moveToElement(LocatorType locator, String selector, ExplicitWaitCondition condition) {
-        actions.moveToElement(findWebElement(locator, selector, condition)).perform();
+        actOnElement("moveToElement", locator, selector, condition, element -> actions.moveToElement(element).perform());
         log.info("Moved to provided element: '[{}: '{}']'.", locator, selector);
     }
 
@@ -805,6 +1115,7 @@ public class UIActions {
      */
     public void moveToElement(WebElement element) {
         actions.moveToElement(element).perform();
+        afterAction("moveToElement");
         log.info("Moved to provided WebElement: '{}'.", describeElement(element));
     }
 
@@ -823,6 +1134,7 @@ public class UIActions {
         WebElement srcElement = findWebElement(srcLocator, srcSelector, condition);
         WebElement destElement = findWebElement(destLocator, destSelector, condition);
         actions.dragAndDrop(srcElement, destElement).perform();
+        afterAction("dragAndDrop");
 
         log.info("Performed drag-and-drop from source element: '[{}: '{}']' to destination element: '[{}: '{}']'.",
                 srcLocator, srcSelector, destLocator, destSelector);
@@ -836,6 +1148,7 @@ public class UIActions {
      */
     public void dragAndDrop(WebElement srcElement, WebElement destElement) {
         actions.dragAndDrop(srcElement, destElement).perform();
+        afterAction("dragAndDrop");
         log.info("Performed drag-and-drop from source WebElement: '{}' to destination WebElement: '{}'.",
                 describeElement(srcElement), describeElement(destElement));
     }
@@ -860,6 +1173,7 @@ public class UIActions {
         }
 
         actions.perform();
+        afterAction("enterKeyCombination");
 
         log.info("Performed key combination: '{}' + '{}'",
                 modifiers.stream().map(Keys::name).collect(Collectors.joining(" + ")),
@@ -878,6 +1192,7 @@ public class UIActions {
                 .sendKeys(keys)
                 .keyUp(modifier)
                 .perform();
+        afterAction("enterKeyCombination");
 
         log.info("Performed key combination: '{}' + '{}'.", modifier.name(), keys);
     }
@@ -887,9 +1202,8 @@ public class UIActions {
     //Tables
 
     /**
-     * Extracts and returns the text content of all cells within a table structure.
-     * The method locates the table using the provided locator, then iterates through
-     * each row and cell to collect their textual values.
+     * Extracts and returns the text content of all cells within a table structure, Row by row.
+     * <br>The table is read as a whole (see {@link #extractTable}), Not a lookup per row and cell.
      *
      * @param tableLocator  The locator type used to identify the table element (e.g., ID, CLASS_NAME, XPATH).
      * @param tableSelector The selector string corresponding to the table locator.
@@ -902,17 +1216,53 @@ public class UIActions {
     public List<String> getTableCellValues(LocatorType tableLocator, String tableSelector,
                                            LocatorType rowLocator, String rowSelector,
                                            LocatorType cellLocator, String cellSelector) {
-        WebElement table = findWebElement(tableLocator, tableSelector, ExplicitWaitCondition.visibilityOfElement);
-        List<WebElement> rows = findWebElementsInParent(table, rowLocator, rowSelector);
-
-        List<String> cellsValues = new ArrayList<>();
-        for (WebElement row : rows) {
-            List<WebElement> cells = findWebElementsInParent(row, cellLocator, cellSelector);
-            for (WebElement cell : cells) {
-                cellsValues.add(cell.getText());
-            }
-        }
-        return cellsValues;
+        return extractTable(tableLocator, tableSelector, rowLocator, rowSelector, cellLocator, cellSelector).cellValues();
+    }
+
+    /**
+     * Extracts a whole table into headers and typed rows, In one script call on web or one page source fetch on native apps.
+     * <br>Row and cell locators that can't be evaluated that way (e.g., androidUIAutomator) fall back to a lookup per row and cell.
+     * <br>On web, A row of header cells ({@code th}) only, Or the {@code thead} cells, Give the header names.
+     *
+     * @param tableLocator   The locator type used to identify the table element.
+     * @param tableSelector  The selector string corresponding to the table locator.
+     * @param rowLocator     The locator type used to identify row elements within the table.
+     * @param rowSelector    The selector string corresponding to the row locator.
+     * @param cellLocator    The locator type used to identify cell elements within each row.
+     * @param cellSelector   The selector string corresponding to the cell locator.
+     * @param cellAttributes Optional attributes to read from each cell.
+     * @return The table headers and rows.
+     */
+    public TableData extractTable(LocatorType tableLocator, String tableSelector,
+                                  LocatorType rowLocator, String rowSelector,
+                                  LocatorType cellLocator, String cellSelector,
+                                  String... cellAttributes) {
+        return tableExtractor.extract(new TableExtractor.TableSpec(tableLocator, tableSelector, rowLocator, rowSelector,
+                cellLocator, cellSelector, List.of(cellAttributes)));
+    }
+
+    /**
+     * Streams the rows of a table to the consumer page by page, For tables too large to read at once or rendering their rows lazily.
+     * <br>On web, Each page is one script call that also scrolls its last row into view,
+     * Virtualized grids are continued by their {@code aria-rowindex}. Elsewhere the table is extracted whole and then streamed.
+     *
+     * @param tableLocator   The locator type used to identify the table element.
+     * @param tableSelector  The selector string corresponding to the table locator.
+     * @param rowLocator     The locator type used to identify row elements within the table.
+     * @param rowSelector    The selector string corresponding to the row locator.
+     * @param cellLocator    The locator type used to identify cell elements within each row.
+     * @param cellSelector   The selector string corresponding to the cell locator.
+     * @param pageSize       The number of rows read per call.
+     * @param rowConsumer    Receives each row, In table order.
+     * @param cellAttributes Optional attributes to read from each cell.
+     * @return The number of streamed rows.
+     */
+    public int streamTable(LocatorType tableLocator, String tableSelector,
+                           LocatorType rowLocator, String rowSelector,
+                           LocatorType cellLocator, String cellSelector,
+                           int pageSize, Consumer<TableData.Row> rowConsumer, String... cellAttributes) {
+        return tableExtractor.stream(new TableExtractor.TableSpec(tableLocator, tableSelector, rowLocator, rowSelector,
+                cellLocator, cellSelector, List.of(cellAttributes)), pageSize, rowConsumer);
     }
 
 
@@ -1,16 +1,20 @@
 package mobile.android;
 
+import actions.ElementCache;
 import actions.UIActions;
 import com.google.common.collect.ImmutableMap;
 import io.appium.java_client.android.AndroidDriver;
 import mobileDriverFactory.GetMobileDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Point;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebElement;
+import utility.StartupTimings;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -60,6 +64,7 @@ public class AndroidActions {
         androidDriver.executeScript("mobile: longClickGesture", ImmutableMap.of(
                 "elementId", ((RemoteWebElement) webElement).getId(),
                 "duration", duration));
+        uiActions.invalidateHierarchySnapshot();
         log.info("Performed longClickGesture on element '{}' for '{}' ms.", describeElement(webElement), duration);
     }
 
@@ -75,6 +80,7 @@ public class AndroidActions {
                 "x", x,
                 "y", y,
                 "duration", duration));
+        uiActions.invalidateHierarchySnapshot();
         log.info("Performed longClickGesture at x:'{}', y:'{}' for '{}' ms.", x, y, duration);
     }
 
@@ -86,6 +92,7 @@ public class AndroidActions {
     public void clickGesture(WebElement webElement) {
         androidDriver.executeScript("mobile: clickGesture", ImmutableMap.of(
                 "elementId", ((RemoteWebElement) webElement).getId()));
+        uiActions.invalidateHierarchySnapshot();
         log.info("Performed clickGesture on element '{}'.", describeElement(webElement));
     }
 
@@ -99,9 +106,23 @@ public class AndroidActions {
         androidDriver.executeScript("mobile: clickGesture", ImmutableMap.of(
                 "x", x,
                 "y", y));
+        uiActions.invalidateHierarchySnapshot();
         log.info("Performed clickGesture at x:'{}', y:'{}'.", x, y);
     }
 
+    /**
+     * Performs a click gesture at the center of a node of a UI hierarchy snapshot.
+     *
+     * @param node node to click, It must be displayed in the current screen state
+     */
+    public void clickGesture(UiHierarchySnapshot.UiNode node) {
+        Point center = node.getCenter();
+        if (center == null) {
+            throw new IllegalArgumentException("Node '" + node + "' has no bounds to click.");
+        }
+        clickGesture(center.getX(), center.getY());
+    }
+
     /**
      * Performs a drag gesture starting from an element to an end coordinate.
      *
@@ -114,6 +135,7 @@ public class AndroidActions {
                 "elementId", ((RemoteWebElement) webElement).getId(),
                 "endX", endX,
                 "endY", endY));
+        uiActions.invalidateHierarchySnapshot();
         log.info("Performed dragGesture on element '{}' to x: '{}', y: '{}'.", describeElement(webElement), endX, endY);
     }
 
@@ -131,6 +153,7 @@ public class AndroidActions {
                 "startY", startY,
                 "endX", endX,
                 "endY", endY));
+        uiActions.invalidateHierarchySnapshot();
         log.info("Performed dragGesture from x:'{}', y:'{}' to x:'{}', y:'{}'.", startX, startY, endX, endY);
     }
 
@@ -146,6 +169,7 @@ public class AndroidActions {
         uiActions.findWebElement(UIActions.LocatorType.androidUIAutomator,
                 "new UiScrollable(new UiSelector()).scrollIntoView(textContains(\"" + text + "\"))",
                 UIActions.ExplicitWaitCondition.presenceOfElement);
+        uiActions.invalidateHierarchySnapshot();
         log.info("Scrolled to text '{}'.", text);
     }
 
@@ -170,15 +194,7 @@ public class AndroidActions {
                 log.info("Scrolled to element '{}'.", describeElement(element));
                 return element;
             }
-                Object canScrollMoreObj = androidDriver.executeScript("mobile: scrollGesture", ImmutableMap.of(
-                        "elementId", ((RemoteWebElement) scrollableContainer).getId(),
-                        "direction", scrollingDirection.toString(),
-                        "percent", percent
-                ));
-                if (canScrollMoreObj == null) {
-                    throw new RuntimeException("scrollGesture returned null.");
-                }
-                canScrollMore = (Boolean) canScrollMoreObj;
+            canScrollMore = scrollGesture(scrollableContainer, scrollingDirection, percent);
 
         }while (canScrollMore);
 
@@ -192,6 +208,59 @@ public class AndroidActions {
         }
     }
 
+    /**
+     * Scrolls within a scrollable container until a node matching the locator is displayed,
+     * Querying a UI hierarchy snapshot after each scroll instead of a remote lookup (see {@link UiHierarchySnapshot}).
+     *
+     * @param scrollableContainer scrollable WebElement
+     * @param nodeLocatorType     locator type of target node (xPath, id, className, accessibilityId or tagName)
+     * @param nodeSelector        locator string of target node
+     * @param scrollingDirection  direction to scroll
+     * @param percent             scroll distance percentage (0.0 to 1.0)
+     * @return the displayed node, In the snapshot of the screen after scrolling
+     */
+    public UiHierarchySnapshot.UiNode scrollUntilNodeVisible(WebElement scrollableContainer, UIActions.LocatorType nodeLocatorType,
+                                                             String nodeSelector, Direction scrollingDirection, double percent) {
+        boolean canScrollMore;
+        do {
+            Optional<UiHierarchySnapshot.UiNode> node = findDisplayedNode(nodeLocatorType, nodeSelector);
+            if (node.isPresent()) {
+                log.info("Scrolled to node '{}'.", node.get());
+                return node.get();
+            }
+            canScrollMore = scrollGesture(scrollableContainer, scrollingDirection, percent);
+        } while (canScrollMore);
+
+        return findDisplayedNode(nodeLocatorType, nodeSelector).orElseThrow(() -> {
+            log.error("Node '{}' not found after scrolling.", nodeSelector);
+            return new RuntimeException("Node not displayed after scroll.");
+        });
+    }
+
+    private Optional<UiHierarchySnapshot.UiNode> findDisplayedNode(UIActions.LocatorType nodeLocatorType, String nodeSelector) {
+        return uiActions.getHierarchySnapshot().findAll(nodeLocatorType, nodeSelector).stream()
+                .filter(UiHierarchySnapshot.UiNode::isDisplayed)
+                .findFirst();
+    }
+
+    /**
+     * Scrolls the container once.
+     *
+     * @return {@code true} if the container can scroll more in that direction
+     */
+    private boolean scrollGesture(WebElement scrollableContainer, Direction scrollingDirection, double percent) {
+        Object canScrollMoreObj = androidDriver.executeScript("mobile: scrollGesture", ImmutableMap.of(
+                "elementId", ((RemoteWebElement) scrollableContainer).getId(),
+                "direction", scrollingDirection.toString(),
+                "percent", percent
+        ));
+        if (canScrollMoreObj == null) {
+            throw new RuntimeException("scrollGesture returned null.");
+        }
+        uiActions.invalidateHierarchySnapshot();
+        return (Boolean) canScrollMoreObj;
+    }
+
     // ====================================== Context & Activity ======================================
 
     /**
@@ -228,11 +297,30 @@ public class AndroidActions {
 
     /**
      * Switches to a specific context by handle.
+     * <br>Switching to a WEBVIEW context records the switch and the first webview command
+     * (served by the device chromedriver) in the {@link StartupTimings} of "webview:&lt;device&gt;".
      *
      * @param contextHandle context handle to switch to
      */
     public void switchToContext(String contextHandle) {
-        androidDriver.context(contextHandle);
+        if (contextHandle == null || !contextHandle.toUpperCase().startsWith("WEBVIEW")) {
+            androidDriver.context(contextHandle);
+            ElementCache.invalidate(androidDriver, "context switch");
+            uiActions.onContextSwitch();
+            log.info("Switched to context '{}'.", contextHandle);
+            return;
+        }
+        StartupTimings timings = StartupTimings.start("webview:" + androidDriver.getCapabilities().getCapability("deviceName"));
+        try {
+            timings.phase("contextSwitch");
+            androidDriver.context(contextHandle);
+            timings.phase("firstCommand");
+            androidDriver.getWindowHandle();
+        } finally {
+            timings.finish();
+        }
+        ElementCache.invalidate(androidDriver, "context switch");
+        uiActions.onContextSwitch();
         log.info("Switched to context '{}'.", contextHandle);
     }
 
@@ -0,0 +1,316 @@
+package mobile.android;
+
+import actions.UIActions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * UiHierarchySnapshot is one capture of the app's UI hierarchy (the Appium page source), Queried locally
+ * instead of sending a lookup per locator to UiAutomator2, Which is slow on XPath with ancestor axes in particular.
+ * <br>The snapshot reflects the screen when it was captured, {@link UIActions#getHierarchySnapshot()} reuses it
+ * until the next mutating action or gesture.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Streaming parse: The page source is read with StAX into a DOM, Indexing nodes by resource-id, text,
+ *   class and content-desc while parsing.</li>
+ *   <li>Queries by XPath (evaluated locally), id, className, accessibilityId, tagName, text, bounds and visibility.</li>
+ *   <li>XPath queries relative to a node (e.g., siblings in a list item) with {@link UiNode#findAll(String)}.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * UiHierarchySnapshot snapshot = uiActions.getHierarchySnapshot();
+ * String price = snapshot.find(UIActions.LocatorType.xPath, "//*[@text='Jordan 6 Rings']/..//*[contains(@text,'$')]")
+ *         .map(UiHierarchySnapshot.UiNode::getText)
+ *         .orElseThrow();
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public final class UiHierarchySnapshot {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+    private static final String NODE_KEY = "uiNode";
+
+    private final Document document;
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    private final List<UiNode> nodes = new ArrayList<>();
+    private final Map<String, List<UiNode>> byResourceId = new HashMap<>();
+    private final Map<String, List<UiNode>> byText = new HashMap<>();
+    private final Map<String, List<UiNode>> byClass = new HashMap<>();
+    private final Map<String, List<UiNode>> byContentDesc = new HashMap<>();
+    private final long capturedAtNanos = System.nanoTime();
+
+    private UiHierarchySnapshot(String pageSource) throws XMLStreamException, ParserConfigurationException {
+        this.document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(pageSource));
+        try {
+            Deque<org.w3c.dom.Node> parents = new ArrayDeque<>();
+            parents.push(document);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    Element element = document.createElement(reader.getLocalName());
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                    parents.peek().appendChild(element);
+                    parents.push(element);
+                    index(new UiNode(element));
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    parents.pop();
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Captures the current UI hierarchy of the session with one page source call.
+     *
+     * @param driver the driver session
+     * @return the snapshot
+     * @throws WebDriverException if the page source can't be parsed
+     */
+    public static UiHierarchySnapshot capture(WebDriver driver) {
+        long start = System.nanoTime();
+        String pageSource = driver.getPageSource();
+        try {
+            UiHierarchySnapshot snapshot = new UiHierarchySnapshot(pageSource);
+            log.info("Captured UI hierarchy snapshot of '{}' nodes in '{}' ms.", snapshot.nodes.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+            return snapshot;
+        } catch (XMLStreamException | ParserConfigurationException e) {
+            throw new WebDriverException("Failed to parse the page source into a UI hierarchy snapshot.", e);
+        }
+    }
+
+    private void index(UiNode node) {
+        node.element.setUserData(NODE_KEY, node, null);
+        nodes.add(node);
+        indexBy(byResourceId, node.getAttribute("resource-id"), node);
+        indexBy(byText, node.getAttribute("text"), node);
+        indexBy(byClass, node.getAttribute("class"), node);
+        indexBy(byContentDesc, node.getAttribute("content-desc"), node);
+    }
+
+    private static void indexBy(Map<String, List<UiNode>> index, String key, UiNode node) {
+        if (key != null && !key.isEmpty()) {
+            index.computeIfAbsent(key, ignored -> new ArrayList<>()).add(node);
+        }
+    }
+
+    /**
+     * Finds the nodes matching a locator, In document order.
+     *
+     * @param locator  xPath, id (resource-id), className, accessibilityId (content-desc) or tagName
+     * @param selector the selector
+     * @return the matching nodes, Empty if none
+     * @throws IllegalArgumentException if the locator type can't be evaluated on a snapshot
+     */
+    public List<UiNode> findAll(UIActions.LocatorType locator, String selector) {
+        return switch (locator) {
+            case xPath -> evaluate(selector, document);
+            case id -> byResourceId.getOrDefault(selector, List.of());
+            case className -> byClass.getOrDefault(selector, List.of());
+            case accessibilityId -> byContentDesc.getOrDefault(selector, List.of());
+            case tagName -> nodes.stream().filter(node -> node.element.getTagName().equals(selector)).toList();
+            default -> throw new IllegalArgumentException("Locator type '" + locator + "' can't be evaluated on a UI hierarchy snapshot.");
+        };
+    }
+
+    /**
+     * @return the first node matching the locator (see {@link #findAll(UIActions.LocatorType, String)})
+     */
+    public Optional<UiNode> find(UIActions.LocatorType locator, String selector) {
+        return findAll(locator, selector).stream().findFirst();
+    }
+
+    /**
+     * @param text the exact text
+     * @return the nodes having the text, In document order
+     */
+    public List<UiNode> findByText(String text) {
+        return byText.getOrDefault(text, List.of());
+    }
+
+    /**
+     * @param predicate the condition
+     * @return the nodes matching the condition, In document order
+     */
+    public List<UiNode> findAll(Predicate<UiNode> predicate) {
+        return nodes.stream().filter(predicate).toList();
+    }
+
+    /**
+     * @param point the screen coordinates
+     * @return the deepest displayed node containing the point, As a tap there would hit it
+     */
+    public Optional<UiNode> findAt(Point point) {
+        UiNode hit = null;
+        for (UiNode node : nodes) {
+            Rectangle bounds = node.getBounds();
+            if (node.isDisplayed() && bounds != null && point.x >= bounds.x && point.x < bounds.x + bounds.width
+                    && point.y >= bounds.y && point.y < bounds.y + bounds.height) {
+                hit = node;                                         // Document order: Later nodes are deeper or on top
+            }
+        }
+        return Optional.ofNullable(hit);
+    }
+
+    /**
+     * @return the number of nodes in the snapshot
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the age of the snapshot in milliseconds
+     */
+    public long getAgeMillis() {
+        return (System.nanoTime() - capturedAtNanos) / 1_000_000;
+    }
+
+    private List<UiNode> evaluate(String expression, org.w3c.dom.Node context) {
+        try {
+            NodeList matches = (NodeList) xpath.evaluate(expression, context, XPathConstants.NODESET);
+            List<UiNode> result = new ArrayList<>(matches.getLength());
+            for (int i = 0; i < matches.getLength(); i++) {
+                if (matches.item(i).getUserData(NODE_KEY) instanceof UiNode node) {
+                    result.add(node);
+                }
+            }
+            return result;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Invalid XPath '" + expression + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One node of the snapshot, Exposing the attributes UiAutomator2 reports for the view.
+     */
+    public final class UiNode {
+
+        private final Element element;
+
+        private UiNode(Element element) {
+            this.element = element;
+        }
+
+        /**
+         * @param name the attribute name (e.g., "checked", "resource-id")
+         * @return the attribute value, or {@code null} if not set
+         */
+        public String getAttribute(String name) {
+            return element.hasAttribute(name) ? element.getAttribute(name) : null;
+        }
+
+        public String getText() {
+            return getAttribute("text");
+        }
+
+        public String getResourceId() {
+            return getAttribute("resource-id");
+        }
+
+        public String getClassName() {
+            String className = getAttribute("class");
+            return className != null ? className : element.getTagName();
+        }
+
+        /**
+         * @return the bounds on screen, or {@code null} if not reported
+         */
+        public Rectangle getBounds() {
+            String bounds = getAttribute("bounds");
+            if (bounds == null) {
+                return null;
+            }
+            Matcher matcher = BOUNDS.matcher(bounds);
+            if (!matcher.matches()) {
+                return null;
+            }
+            int left = Integer.parseInt(matcher.group(1));
+            int top = Integer.parseInt(matcher.group(2));
+            return new Rectangle(left, top, Integer.parseInt(matcher.group(4)) - top, Integer.parseInt(matcher.group(3)) - left);
+        }
+
+        /**
+         * @return the center of the bounds, To tap the node, or {@code null} if bounds aren't reported
+         */
+        public Point getCenter() {
+            Rectangle bounds = getBounds();
+            return bounds == null ? null : new Point(bounds.x + bounds.width / 2, bounds.y + bounds.height / 2);
+        }
+
+        /**
+         * @return {@code true} if the view is displayed and has a non-empty area on screen
+         */
+        public boolean isDisplayed() {
+            Rectangle bounds = getBounds();
+            return !"false".equals(getAttribute("displayed")) && bounds != null && bounds.width > 0 && bounds.height > 0;
+        }
+
+        /**
+         * @return the parent node, Empty for the root
+         */
+        public Optional<UiNode> getParent() {
+            return element.getParentNode() != null && element.getParentNode().getUserData(NODE_KEY) instanceof UiNode parent
+                    ? Optional.of(parent) : Optional.empty();
+        }
+
+        /**
+         * Evaluates an XPath relative to this node (e.g., "./ancestor::android.widget.LinearLayout[1]//*[@text='ADD TO CART']").
+         *
+         * @param expression the XPath
+         * @return the matching nodes, In document order
+         */
+        public List<UiNode> findAll(String expression) {
+            return evaluate(expression, element);
+        }
+
+        @Override
+        public String toString() {
+            return getClassName() + "[text='" + getText() + "', resource-id='" + getResourceId() + "', bounds=" + getAttribute("bounds") + "]";
+        }
+    }
+}
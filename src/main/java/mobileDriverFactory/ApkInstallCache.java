@@ -0,0 +1,196 @@
+package mobileDriverFactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * ApkInstallCache remembers which APK build is installed on each device, So sessions can launch the
+ * already installed app by its package instead of uploading and installing the APK again.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Identifies an APK build by the SHA-256 of its content, Hashed once per run using memory-mapped reads.</li>
+ *   <li>Keeps the installed hash per device and package in a properties file that survives between runs.</li>
+ *   <li>Any change in the APK content results in a different hash, So the next session reinstalls it.</li>
+ *   <li>Disabled when {@code apkInstallCache} (the state file path) isn't provided in the configuration.</li>
+ * </ul>
+ *
+ * <p>Example usage (through {@link GetMobileDriver}):
+ * <pre>{@code
+ * ApkInstallCache.InstallState installState = ApkInstallCache.installStateOf(config);
+ * UiAutomator2Options options = GetAndroid.setupAndroidOptions(config, installState);
+ * // ... create the session ...
+ * ApkInstallCache.markInstalled(config);
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+final class ApkInstallCache {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final long MAPPED_CHUNK_SIZE = 64L * 1024 * 1024;
+    private static final Map<Path, String> apkHashes = new ConcurrentHashMap<>();
+    private static final Properties installedHashes = new Properties();
+    private static Path loadedStateFile;
+
+    /**
+     * What the cache knows about the APK build installed on a device.
+     */
+    enum InstallState {
+        /** The current APK build is installed, So the install can be skipped. */
+        installed,
+        /** Another build of the APK was installed, Which may keep the same version code, So the install must be enforced. */
+        changed,
+        /** The cache is disabled or has no entry for the device, So the driver decides whether to install. */
+        unknown
+    }
+
+    private ApkInstallCache() {
+        // Utility class: prevent instantiation
+    }
+
+    /**
+     * Checks which build of the APK at {@code appLocation} is installed on the device ({@code uuid}) under {@code appPackage}.
+     *
+     * @param config the device configuration map
+     * @return {@code installed} if the installed build has the same content hash as the current APK,
+     * {@code changed} if it has another hash, {@code unknown} if the cache is disabled or has no entry
+     */
+    static InstallState installStateOf(Map<String, String> config) {
+        String stateKey = stateKeyOf(config);
+        if (stateKey == null) {
+            return InstallState.unknown;
+        }
+        String apkHash = hashOf(Path.of(config.get("appLocation")));
+        synchronized (installedHashes) {
+            loadState(Path.of(config.get("apkInstallCache")));
+            String installedHash = installedHashes.getProperty(stateKey);
+            InstallState state = installedHash == null ? InstallState.unknown
+                    : installedHash.equals(apkHash) ? InstallState.installed : InstallState.changed;
+            log.info("APK '{}' install state on device '{}' is '{}'.", config.get("appLocation"), config.get("deviceName"), state);
+            return state;
+        }
+    }
+
+    /**
+     * Records that the current APK is installed on the device, Called after a session installed it successfully.
+     *
+     * @param config the device configuration map
+     */
+    static void markInstalled(Map<String, String> config) {
+        String stateKey = stateKeyOf(config);
+        if (stateKey != null) {
+            updateState(config, stateKey, hashOf(Path.of(config.get("appLocation"))));
+        }
+    }
+
+    /**
+     * Forgets the installed APK of the device, So the next session installs it again.
+     *
+     * @param config the device configuration map
+     */
+    static void invalidate(Map<String, String> config) {
+        String stateKey = stateKeyOf(config);
+        if (stateKey != null) {
+            updateState(config, stateKey, null);
+        }
+    }
+
+    /**
+     * @return the state key of the device and package, or {@code null} if the cache is disabled or the config is incomplete
+     */
+    private static String stateKeyOf(Map<String, String> config) {
+        String stateFile = config.get("apkInstallCache");
+        if (stateFile == null || stateFile.isBlank() || config.get("appLocation") == null
+                || config.get("appPackage") == null || config.get("uuid") == null) {
+            return null;
+        }
+        return config.get("uuid") + "|" + config.get("appPackage");
+    }
+
+    private static void updateState(Map<String, String> config, String stateKey, String apkHash) {
+        Path stateFile = Path.of(config.get("apkInstallCache"));
+        synchronized (installedHashes) {
+            loadState(stateFile);
+            if (apkHash == null) {
+                installedHashes.remove(stateKey);
+            } else {
+                installedHashes.setProperty(stateKey, apkHash);
+            }
+            try {
+                if (stateFile.getParent() != null) {
+                    Files.createDirectories(stateFile.getParent());
+                }
+                try (OutputStream output = Files.newOutputStream(stateFile)) {
+                    installedHashes.store(output, "Installed APK content hash per device|package");
+                }
+            } catch (IOException e) {
+                log.warn("Failed to save the APK install cache '{}': {}", stateFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads the state file once, Must be called while holding the {@code installedHashes} lock.
+     */
+    private static void loadState(Path stateFile) {
+        if (stateFile.equals(loadedStateFile)) {
+            return;
+        }
+        installedHashes.clear();
+        if (Files.isRegularFile(stateFile)) {
+            try (InputStream input = Files.newInputStream(stateFile)) {
+                installedHashes.load(input);
+            } catch (IOException e) {
+                log.warn("Failed to read the APK install cache '{}', All APKs will be reinstalled: {}", stateFile, e.getMessage());
+                installedHashes.clear();
+            }
+        }
+        loadedStateFile = stateFile;
+    }
+
+    /**
+     * Returns the SHA-256 of the APK content, Computed on the first call for the file only.
+     */
+    private static String hashOf(Path apk) {
+        return apkHashes.computeIfAbsent(apk.toAbsolutePath().normalize(), ApkInstallCache::computeHash);
+    }
+
+    private static String computeHash(Path apk) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(apk, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAPPED_CHUNK_SIZE) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_CHUNK_SIZE, size - position));
+                digest.update(chunk);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            log.info("Hashed APK '{}' ({} bytes) in '{}' ms.", apk, size, (System.nanoTime() - start) / 1_000_000);
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the APK: " + apk, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 isn't supported by the JVM", e);
+        }
+    }
+}
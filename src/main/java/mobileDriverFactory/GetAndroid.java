@@ -3,8 +3,11 @@ package mobileDriverFactory;
 import io.appium.java_client.android.options.UiAutomator2Options;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import utility.DevicesManager;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -17,6 +20,10 @@ import static java.lang.invoke.MethodHandles.lookup;
  *   <li>Builds Android-specific options using values from a configuration map.</li>
  *   <li>Sets required capabilities such as device name, app path, and chromedriver path.</li>
  *   <li>Uses UiAutomator2 as the default automation engine.</li>
+ *   <li>Gives each device its own chromedriver and webview devtools ports for WEBVIEW context switching.</li>
+ *   <li>Skips the UiAutomator2 server install, device init and unlock on devices already prepared in this run
+ *   (see {@link DevicesManager#getReadiness(String)}).</li>
+ *   <li>Launches an already installed app by its package instead of installing the APK (see {@link ApkInstallCache}).</li>
  *   <li>Logs the applied configuration for debugging and traceability.</li>
  * </ul>
  *
@@ -28,7 +35,7 @@ import static java.lang.invoke.MethodHandles.lookup;
  *     "chromeExePath", "C:/drivers/chromedriver.exe"
  * );
  *
- * UiAutomator2Options options = GetAndroid.setupAndroidOptions(config);
+ * UiAutomator2Options options = GetAndroid.setupAndroidOptions(config, ApkInstallCache.InstallState.unknown);
  * }</pre>
  *
  * @author Hossam
@@ -47,18 +54,45 @@ class GetAndroid {
      *                 <li>{@code deviceName} → the name of the Android device/emulator</li>
      *                 <li>{@code appLocation} → path to the APK file</li>
      *                 <li>{@code chromeExePath} → path to the ChromeDriver executable (if webviews are used)</li>
+     *                 <li>{@code sessionReuse} → "true" to extend the idle timeout of sessions kept between tests</li>
+     *                 <li>{@code chromedriverPort} → (optional) the device's dedicated chromedriver port</li>
+     *                 <li>{@code webviewDevtoolsPort} → (optional) the device's dedicated webview devtools forwarding port</li>
+     *                 <li>{@code mjpegServerPort} → (optional) the device's dedicated MJPEG stream port</li>
+     *                 <li>{@code appPackage} → the package of the app, Used to launch it when it's already installed</li>
      *               </ul>
+     * @param installState which APK build is installed on the device (see {@link ApkInstallCache#installStateOf(Map)})
      * @return a fully configured {@link UiAutomator2Options} instance
      */
-    static UiAutomator2Options setupAndroidOptions(Map<String, String> config) {
+    static UiAutomator2Options setupAndroidOptions(Map<String, String> config, ApkInstallCache.InstallState installState) {
         UiAutomator2Options options = new UiAutomator2Options()
                 .setChromedriverExecutable(config.get("chromeExePath"))
                 .setDeviceName(config.get("deviceName"))
                 .setUdid(config.get("uuid"))
-                .setApp(config.get("appLocation"))
                 .setAutomationName("UiAutomator2")
                 .setPlatformName("android");
                 options.setSystemPort(Integer.parseInt(config.get("systemPort")));
+        if (config.get("chromedriverPort") != null) {              // Dedicated ports, So parallel devices never collide
+            options.setChromedriverPort(Integer.parseInt(config.get("chromedriverPort")));
+        }
+        if (config.get("webviewDevtoolsPort") != null) {
+            options.setWebviewDevtoolsPort(Integer.parseInt(config.get("webviewDevtoolsPort")));
+        }
+        if (config.get("mjpegServerPort") != null) {
+            options.setMjpegServerPort(Integer.parseInt(config.get("mjpegServerPort")));
+        }
+        Set<DevicesManager.Readiness> readiness = DevicesManager.getReadiness(config.get("uuid"));
+        options.setSkipServerInstallation(readiness.contains(DevicesManager.Readiness.serverInstalled))
+                .setSkipDeviceInitialization(readiness.contains(DevicesManager.Readiness.deviceInitialized))
+                .setSkipUnlock(readiness.contains(DevicesManager.Readiness.settingsApplied));
+        switch (installState) {
+            case installed -> options.setAppPackage(config.get("appPackage"));  // Launch the installed app, Skipping the APK install
+            case changed -> options.setApp(config.get("appLocation"))
+                    .setEnforceAppInstall(true);                    // A changed APK may keep the same version code
+            case unknown -> options.setApp(config.get("appLocation"));         // UiAutomator2 skips an installed app of the same version
+        }
+        if (Boolean.parseBoolean(config.get("sessionReuse"))) {
+            options.setNewCommandTimeout(Duration.ofMinutes(5));     // Keep parked sessions alive between tests
+        }
 
         // options.setCapability("browserName", "Chrome");
         log.info("Configured Android options for device '{}'.", config.get("deviceName"));
@@ -1,14 +1,29 @@
 package mobileDriverFactory;
 
+import actions.ElementCache;
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
 import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
 import io.appium.java_client.ios.IOSDriver;
+import io.appium.java_client.ios.options.XCUITestOptions;
+import io.appium.java_client.remote.SupportsContextSwitching;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import utility.CommandLatencyRecorder;
+import utility.DevicesManager;
+import utility.StartupTimings;
 
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -22,6 +37,11 @@ import static java.lang.invoke.MethodHandles.lookup;
  *   <li>Thread-safe using {@link ThreadLocal}, allowing parallel test execution.</li>
  *   <li>Prevents multiple driver initializations per thread.</li>
  *   <li>Provides lifecycle management (initialize, get, quit) for mobile drivers.</li>
+ *   <li>Optionally keeps one long-lived session per device, resetting the app between tests instead of quitting.</li>
+ *   <li>Bootstraps sessions for many devices concurrently, handing the ready sessions to test threads.</li>
+ *   <li>Skips the APK install when the same build is installed on the device already (see {@link ApkInstallCache}).</li>
+ *   <li>Records per-phase startup timings of every new session (see {@link StartupTimings}).</li>
+ *   <li>Optionally records the latency of every driver command (see {@link CommandLatencyRecorder}).</li>
  *   <li>Logs detailed driver initialization and cleanup activities.</li>
  * </ul>
  *
@@ -42,6 +62,12 @@ public class GetMobileDriver {
 
     private static final Logger log = LogManager.getLogger(lookup().lookupClass());
     private static final ThreadLocal<AppiumDriver> localDriver = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, String>> localSessionConfig = new ThreadLocal<>();
+    private static final Map<String, AppiumDriver> parkedSessions = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<Void>> pendingSessions = new ConcurrentHashMap<>();
+    private static final Map<String, StartupTimings> bootstrapTimings = new ConcurrentHashMap<>();
+    private static final Executor bootstrapExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private static final long HEALTH_CHECK_TIMEOUT_SECONDS = 10;
 
     private GetMobileDriver() {
         // Utility class: prevent instantiation
@@ -49,6 +75,9 @@ public class GetMobileDriver {
 
     /**
      * Initializes an {@link AppiumDriver} instance for the current thread if not already initialized.
+     * <br>A healthy session parked for the same device ({@code uuid}), either bootstrapped or kept from a previous
+     * test when {@code sessionReuse} is "true", is reused instead of creating a new one.
+     * <br>Unhealthy sessions are quit and recreated.
      *
      * @param platform        the mobile platform ("android" or "ios"), case-insensitive
      * @param appiumServerUri the URI of the Appium server (e.g., http://127.0.0.1:4723/")
@@ -62,18 +91,172 @@ public class GetMobileDriver {
             return;
         }
 
-        AppiumDriver driver;
-        switch (platform.toLowerCase()) {
-            case "android" ->
-                    driver = new AndroidDriver(appiumServerUri.toURL(), GetAndroid.setupAndroidOptions(config));
-            case "ios" -> driver = new IOSDriver(appiumServerUri.toURL(), GetIOS.setupIOSOptions(config));
-            default -> throw new IllegalArgumentException("Unsupported platform: " + platform);
+        boolean sessionReuse = Boolean.parseBoolean(config.get("sessionReuse"));
+        String deviceKey = config.get("uuid");
+        awaitPendingSession(deviceKey);
+        AppiumDriver parkedDriver = deviceKey == null ? null : parkedSessions.remove(deviceKey);
+        if (parkedDriver != null) {
+            StartupTimings bootstrapped = bootstrapTimings.remove(deviceKey);
+            if (bootstrapped != null) {
+                bootstrapped.bindToCurrentThread();                 // Report the bootstrap to the test using it first
+            }
+            if (isSessionHealthy(parkedDriver)) {
+                localDriver.set(parkedDriver);
+                if (sessionReuse) {
+                    localSessionConfig.set(config);
+                }
+                log.info("Reusing '{}' session of device '{}'.", platform, config.get("deviceName"));
+                return;
+            }
+            log.warn("Parked session of device '{}' is unhealthy, A new session will be created.", config.get("deviceName"));
+            quitQuietly(parkedDriver);
         }
 
-        localDriver.set(driver);
+        localDriver.set(createDriver(platform, appiumServerUri, config, StartupTimings.start(config.get("deviceName"))));
+        if (sessionReuse) {
+            localSessionConfig.set(config);
+        }
         log.info("Initialized '{}' driver successfully.", platform);
     }
 
+    /**
+     * Creates a session for a device in the background as soon as its Appium server is ready.
+     * <br>The session is parked for the device ({@code uuid}) and handed to the first test thread calling
+     * {@link #getInstance(String, URI, Map)} for that device, Which waits for the bootstrap if it's still running.
+     * <br>A failed bootstrap is logged only, the test thread then creates the session itself.
+     *
+     * @param platform          the mobile platform ("android" or "ios"), case-insensitive
+     * @param appiumServerReady completes with the Appium server URI once the server accepts sessions
+     * @param config            map of configuration values, the same one used by {@link #getInstance(String, URI, Map)}
+     * @return a future completing when the session is created (or the bootstrap failed)
+     */
+    public static CompletableFuture<Void> bootstrapSession(String platform, CompletableFuture<URI> appiumServerReady,
+                                                           Map<String, String> config) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> session = appiumServerReady
+                .thenApplyAsync(uri -> {
+                    try {
+                        StartupTimings timings = StartupTimings.start(config.get("deviceName"));
+                        AppiumDriver driver = createDriver(platform, uri, config, timings);
+                        bootstrapTimings.put(config.get("uuid"), timings);
+                        return driver;
+                    } catch (MalformedURLException e) {
+                        throw new IllegalArgumentException("Invalid Appium server URI: " + uri, e);
+                    }
+                }, bootstrapExecutor)
+                .thenAccept(driver -> {
+                    parkedSessions.put(config.get("uuid"), driver);
+                    log.info("Session of device '{}' is bootstrapped in '{}' ms.", config.get("deviceName"),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                })
+                .exceptionally(e -> {
+                    log.error("Failed to bootstrap session of device '{}': {}", config.get("deviceName"), e.getMessage());
+                    return null;
+                });
+        pendingSessions.put(config.get("uuid"), session);
+        return session;
+    }
+
+    /**
+     * Waits for an in-flight bootstrap of the given device, if any.
+     *
+     * @param deviceKey the device {@code uuid}
+     */
+    private static void awaitPendingSession(String deviceKey) {
+        CompletableFuture<Void> pending = deviceKey == null ? null : pendingSessions.remove(deviceKey);
+        if (pending != null && !pending.isDone()) {
+            log.info("Waiting for the bootstrapped session of device '{}'.", deviceKey);
+            pending.join();
+        }
+    }
+
+    /**
+     * Creates a new session for the given platform, recording the options build, session creation
+     * (including app install and launch) and first command phases.
+     *
+     * @param timings the startup timings to record the phases into, Finished by this method
+     * @throws IllegalArgumentException if the platform is not supported
+     */
+    private static AppiumDriver createDriver(String platform, URI appiumServerUri, Map<String, String> config,
+                                             StartupTimings timings) throws MalformedURLException {
+        try {
+            AppiumDriver driver;
+            switch (platform.toLowerCase()) {
+                case "android" -> {
+                    timings.phase("apkInstallCheck");
+                    ApkInstallCache.InstallState installState = ApkInstallCache.installStateOf(config);
+                    timings.phase("optionsBuild");
+                    UiAutomator2Options options = GetAndroid.setupAndroidOptions(config, installState);
+                    timings.phase("sessionCreate");
+                    driver = createAndroidDriver(appiumServerUri, config, options, installState == ApkInstallCache.InstallState.installed);
+                }
+                case "ios" -> {
+                    timings.phase("optionsBuild");
+                    XCUITestOptions options = GetIOS.setupIOSOptions(config);
+                    timings.phase("sessionCreate");
+                    ClientConfig clientConfig = latencyRecordingConfig(appiumServerUri, config);
+                    driver = clientConfig == null
+                            ? new IOSDriver(appiumServerUri.toURL(), options)
+                            : new IOSDriver(clientConfig, options);
+                }
+                default -> throw new IllegalArgumentException("Unsupported platform: " + platform);
+            }
+            timings.phase("firstCommand");
+            ((SupportsContextSwitching) driver).getContext();
+            return driver;
+        } finally {
+            timings.finish();
+        }
+    }
+
+    /**
+     * Creates an Android session and keeps the {@link ApkInstallCache} and the device readiness in sync with the outcome.
+     * <br>A session skipping the APK install or device preparation that fails to start (e.g., the app was uninstalled
+     * manually or the device was rebooted) is retried once with the APK installed and the device fully prepared.
+     */
+    private static AndroidDriver createAndroidDriver(URI appiumServerUri, Map<String, String> config,
+                                                     UiAutomator2Options options, boolean appInstalled) throws MalformedURLException {
+        String uuid = config.get("uuid");
+        boolean devicePrepared = !DevicesManager.getReadiness(uuid).isEmpty();
+        AndroidDriver driver;
+        try {
+            driver = newAndroidDriver(appiumServerUri, config, options);
+        } catch (WebDriverException e) {
+            if (!appInstalled && !devicePrepared) {
+                throw e;
+            }
+            log.warn("Failed to start a session on device '{}' with install/preparation skipped, Re-preparing it: {}",
+                    config.get("deviceName"), e.getMessage());
+            ApkInstallCache.invalidate(config);
+            DevicesManager.resetReadiness(uuid);
+            driver = newAndroidDriver(appiumServerUri, config, GetAndroid.setupAndroidOptions(config, ApkInstallCache.InstallState.unknown));
+        }
+        ApkInstallCache.markInstalled(config);
+        DevicesManager.markReady(uuid, DevicesManager.Readiness.values());
+        return driver;
+    }
+
+    private static AndroidDriver newAndroidDriver(URI appiumServerUri, Map<String, String> config,
+                                                  UiAutomator2Options options) throws MalformedURLException {
+        ClientConfig clientConfig = latencyRecordingConfig(appiumServerUri, config);
+        return clientConfig == null
+                ? new AndroidDriver(appiumServerUri.toURL(), options)
+                : new AndroidDriver(clientConfig, options);
+    }
+
+    /**
+     * @return a client config recording every command latency of the device (see {@link CommandLatencyRecorder}),
+     * or {@code null} if the recording is disabled
+     */
+    private static ClientConfig latencyRecordingConfig(URI appiumServerUri, Map<String, String> config) {
+        if (!CommandLatencyRecorder.isEnabled()) {
+            return null;
+        }
+        return ClientConfig.defaultConfig()
+                .baseUri(appiumServerUri)
+                .withFilter(CommandLatencyRecorder.filterFor(config.get("deviceName")));
+    }
+
     /**
      * Retrieves the current thread's {@link AppiumDriver} instance.
      *
@@ -90,6 +273,7 @@ public class GetMobileDriver {
     public static void quitDriver() {
         AppiumDriver driver = localDriver.get();
         if (driver != null) {
+            ElementCache.discard(driver);
             try {
                 driver.quit();
                 log.info("Mobile driver quit successfully.");
@@ -97,9 +281,103 @@ public class GetMobileDriver {
                 log.warn("Error quitting mobile driver: {}", e.getMessage());
             } finally {
                 localDriver.remove();
+                localSessionConfig.remove();
             }
         } else {
             log.warn("No mobile driver found for this thread.");
         }
     }
+
+    /**
+     * Releases the current thread's driver at the end of a test.
+     * <br>Sessions created with {@code sessionReuse} enabled are reset (app terminated, optionally cleared with
+     * {@code clearAppData}, then activated again) and parked for the next test on the same device.
+     * <br>Other sessions, or sessions that fail to reset, are quit as in {@link #quitDriver()}.
+     */
+    public static void releaseDriver() {
+        AppiumDriver driver = localDriver.get();
+        Map<String, String> config = localSessionConfig.get();
+        if (driver == null || config == null) {
+            quitDriver();
+            return;
+        }
+        ElementCache.discard(driver);
+        try {
+            resetApp(driver, config);
+            parkedSessions.put(config.get("uuid"), driver);
+            log.info("Session of device '{}' is reset and parked for reuse.", config.get("deviceName"));
+        } catch (Exception e) {
+            log.warn("Failed to reset session of device '{}', It will be quit: {}", config.get("deviceName"), e.getMessage());
+            quitQuietly(driver);
+        } finally {
+            localDriver.remove();
+            localSessionConfig.remove();
+        }
+    }
+
+    /**
+     * Quits all sessions parked for reuse, Should be called once all tests are finished.
+     */
+    public static void quitAllSessions() {
+        pendingSessions.values().forEach(CompletableFuture::join);
+        pendingSessions.clear();
+        parkedSessions.forEach((device, driver) -> {
+            quitQuietly(driver);
+            log.info("Parked session of device '{}' is quit.", device);
+        });
+        parkedSessions.clear();
+    }
+
+    /**
+     * Brings the application under test back to its launch state without recreating the session.
+     *
+     * @param driver the session to reset
+     * @param config the session config holding {@code appPackage} and the optional {@code clearAppData} flag
+     */
+    private static void resetApp(AppiumDriver driver, Map<String, String> config) {
+        String appPackage = config.get("appPackage");
+        if (appPackage == null || appPackage.isBlank()) {
+            throw new IllegalArgumentException("'appPackage' is required to reset a reused session.");
+        }
+        ((SupportsContextSwitching) driver).context("NATIVE_APP");
+        ((InteractsWithApps) driver).terminateApp(appPackage);
+        if (Boolean.parseBoolean(config.get("clearAppData"))) {
+            driver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+            log.info("Application data of '{}' is cleared.", appPackage);
+        }
+        ((InteractsWithApps) driver).activateApp(appPackage);
+    }
+
+    /**
+     * Checks that the session still reaches its device by reading the device time, Within a short timeout.
+     * <br>The session id and context are answered by the Appium server alone, So they can't tell a crashed
+     * UiAutomator2/WebDriverAgent server, A rebooted device or a session taken over by another process.
+     *
+     * @param driver the session to check
+     * @return {@code true} if the device answered the command in time
+     */
+    private static boolean isSessionHealthy(AppiumDriver driver) {
+        if (driver.getSessionId() == null) {
+            return false;
+        }
+        try {
+            CompletableFuture.supplyAsync(() -> driver.executeScript("mobile: getDeviceTime"), bootstrapExecutor)
+                    .get(HEALTH_CHECK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.debug("Session health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void quitQuietly(AppiumDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Error quitting mobile driver: {}", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,168 @@
+package utility;
+
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * AvdEmulatorLauncher boots Android emulator instances of one AVD using the Android SDK {@code emulator} and {@code adb} tools.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Boots headless, read-only instances, So many instances of the same AVD can run at once.</li>
+ *   <li>Picks a free even console port (5554-5682) per instance, The instance udid is {@code emulator-<port>}.</li>
+ *   <li>Waits for {@code sys.boot_completed} before handing the instance to the pool.</li>
+ *   <li>Shuts instances down with {@code adb emu kill}, Killing the process if it doesn't exit in time.</li>
+ * </ul>
+ *
+ * <p>Configuration (Config.properties): {@code emulatorPath}, {@code adbPath}, {@code emulatorAvdName},
+ * {@code emulatorArguments}, {@code emulatorFormFactor}, {@code emulatorApiLevel} and {@code emulatorBootTimeoutSeconds}.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class AvdEmulatorLauncher implements EmulatorLauncher {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final int FIRST_CONSOLE_PORT = 5554;
+    private static final int LAST_CONSOLE_PORT = 5682;
+
+    private final String emulatorPath;
+    private final String adbPath;
+    private final String avdName;
+    private final List<String> emulatorArguments;
+    private final String formFactor;
+    private final Integer apiLevel;
+    private final int bootTimeoutSeconds;
+    private final Set<Integer> consolePorts = ConcurrentHashMap.newKeySet();
+    private final Map<String, Process> emulators = new ConcurrentHashMap<>();
+
+    /**
+     * @param config the configuration loader
+     * @throws Exception if the configuration can't be read or {@code emulatorAvdName} isn't provided
+     */
+    public AvdEmulatorLauncher(ConfigLoader config) throws Exception {
+        this.emulatorPath = Objects.requireNonNullElse(config.getValue("emulatorPath"), "emulator");
+        this.adbPath = Objects.requireNonNullElse(config.getValue("adbPath"), "adb");
+        this.avdName = config.getValue("emulatorAvdName", true);
+        String arguments = Objects.requireNonNullElse(config.getValue("emulatorArguments"),
+                "-no-window -no-audio -no-boot-anim -no-snapshot-save -read-only");
+        this.emulatorArguments = Arrays.stream(arguments.trim().split("\\s+")).filter(argument -> !argument.isEmpty()).toList();
+        this.formFactor = config.getValue("emulatorFormFactor");
+        String configuredApiLevel = config.getValue("emulatorApiLevel");
+        this.apiLevel = configuredApiLevel == null || configuredApiLevel.isEmpty() ? null : Integer.parseInt(configuredApiLevel);
+        String bootTimeout = config.getValue("emulatorBootTimeoutSeconds");
+        this.bootTimeoutSeconds = bootTimeout == null || bootTimeout.isEmpty() ? 180 : Integer.parseInt(bootTimeout);
+    }
+
+    @Override
+    public Device launch() throws Exception {
+        int consolePort = reserveConsolePort();
+        String uuid = "emulator-" + consolePort;
+        List<String> command = new ArrayList<>(List.of(emulatorPath, "-avd", avdName, "-port", String.valueOf(consolePort)));
+        command.addAll(emulatorArguments);
+        long start = System.nanoTime();
+        log.info("Booting emulator '{}' of AVD '{}'.", uuid, avdName);
+        Process emulator;
+        try {
+            emulator = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (IOException e) {
+            consolePorts.remove(consolePort);
+            throw e;
+        }
+        emulators.put(uuid, emulator);
+        try {
+            awaitBoot(uuid, emulator);
+        } catch (Exception e) {
+            emulator.destroyForcibly();
+            emulators.remove(uuid);
+            consolePorts.remove(consolePort);
+            throw e;
+        }
+        log.info("Emulator '{}' booted in '{}' seconds.", uuid, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        return new Device(uuid, uuid, 0, 0, null, null, null, formFactor, apiLevel);
+    }
+
+    @Override
+    public void shutdown(Device device) throws Exception {
+        Process emulator = emulators.remove(device.uuid());
+        runAdb(30, "-s", device.uuid(), "emu", "kill");
+        if (emulator != null && !emulator.waitFor(30, TimeUnit.SECONDS)) {
+            log.warn("Emulator '{}' didn't exit in time, Killing it.", device.uuid());
+            emulator.destroyForcibly();
+        }
+        consolePorts.remove(Integer.parseInt(device.uuid().substring("emulator-".length())));
+        log.info("Emulator '{}' is shut down.", device.uuid());
+    }
+
+    @Override
+    public boolean canLaunch(DeviceRequirement requirement) {
+        return requirement.matches(new Device(avdName, "emulator-" + FIRST_CONSOLE_PORT, 0, 0, null, null, null, formFactor, apiLevel));
+    }
+
+    /**
+     * Reserves an even console port whose adb port (console port + 1) is free too.
+     */
+    private int reserveConsolePort() {
+        for (int port = FIRST_CONSOLE_PORT; port <= LAST_CONSOLE_PORT; port += 2) {
+            if (PortAllocator.isBindable(port) && PortAllocator.isBindable(port + 1) && consolePorts.add(port)) {
+                return port;
+            }
+        }
+        throw new IllegalStateException("No free emulator console port in range " + FIRST_CONSOLE_PORT + "-" + LAST_CONSOLE_PORT);
+    }
+
+    /**
+     * Polls {@code sys.boot_completed} until it's "1".
+     *
+     * @throws IllegalStateException if the emulator exits or doesn't boot within {@code emulatorBootTimeoutSeconds}
+     */
+    private void awaitBoot(String uuid, Process emulator) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(bootTimeoutSeconds);
+        while (System.nanoTime() < deadline) {
+            if (!emulator.isAlive()) {
+                throw new IllegalStateException("Emulator '" + uuid + "' exited with code " + emulator.exitValue() + " while booting.");
+            }
+            if ("1".equals(runAdb(10, "-s", uuid, "shell", "getprop", "sys.boot_completed"))) {
+                return;
+            }
+            Thread.sleep(2000);
+        }
+        throw new IllegalStateException("Emulator '" + uuid + "' didn't boot within " + bootTimeoutSeconds + " seconds.");
+    }
+
+    /**
+     * @return the trimmed output of the adb command, or {@code null} if it failed or timed out
+     */
+    private String runAdb(int timeoutSeconds, String... arguments) throws InterruptedException {
+        List<String> command = new ArrayList<>(List.of(adbPath));
+        command.addAll(List.of(arguments));
+        try {
+            Process adb = new ProcessBuilder(command).redirectErrorStream(true).start();
+            if (!adb.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                adb.destroyForcibly();
+                return null;
+            }
+            String output = new String(adb.getInputStream().readAllBytes()).trim();
+            return adb.exitValue() == 0 ? output : null;
+        } catch (IOException e) {
+            log.debug("adb '{}' failed: {}", command, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package utility;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * CommandLatencyRecorder measures the latency of every WebDriver/Appium command sent by a driver,
+ * Using an HTTP {@link Filter} installed in the driver's client config.
+ * <br>Measuring at the HTTP layer keeps the concrete driver types ({@code AndroidDriver}, {@code ChromeDriver}, etc.) intact,
+ * So casts in the actions classes keep working.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Names commands after the WebDriver API (findElement, click, getText, executeScript, getPageSource, etc.),
+ *   And {@code mobile:} scripts after the mobile command (e.g., scrollGesture).</li>
+ *   <li>Aggregates per-command {@link LatencyHistogram}s per run, per target (browser/device) and per test ({@code TestName}).</li>
+ *   <li>Writes all aggregations as JSON next to the Allure results at the end of the run.</li>
+ *   <li>Enabled by {@code commandLatencyEnabled} in Config.properties.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ClientConfig clientConfig = ClientConfig.defaultConfig().withFilter(CommandLatencyRecorder.filterFor("chrome"));
+ * // ... create the driver with the client config ...
+ * CommandLatencyRecorder.writeReport();
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class CommandLatencyRecorder {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String CONFIG_PATH = "src/test/resources/Config.properties";
+    private static final String DEFAULT_REPORT_FILE = "allure-results/command-latency.json";
+
+    private static final Map<String, LatencyHistogram> runHistograms = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> targetHistograms = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> testHistograms = new ConcurrentHashMap<>();
+    private static volatile Boolean enabled;
+
+    /**
+     * WebDriver routes (method + path without the session/element ids) and their command names.
+     */
+    private static final Map<String, String> COMMAND_NAMES = Map.ofEntries(
+            Map.entry("POST /session", "newSession"),
+            Map.entry("DELETE ", "quit"),
+            Map.entry("POST /element", "findElement"),
+            Map.entry("POST /elements", "findElements"),
+            Map.entry("POST /element/{id}/element", "findElement"),
+            Map.entry("POST /element/{id}/elements", "findElements"),
+            Map.entry("POST /element/{id}/click", "click"),
+            Map.entry("POST /element/{id}/clear", "clear"),
+            Map.entry("POST /element/{id}/value", "sendKeys"),
+            Map.entry("GET /element/{id}/text", "getText"),
+            Map.entry("GET /element/{id}/attribute/{name}", "getAttribute"),
+            Map.entry("GET /element/{id}/property/{name}", "getDomProperty"),
+            Map.entry("GET /element/{id}/css/{name}", "getCssValue"),
+            Map.entry("GET /element/{id}/displayed", "isDisplayed"),
+            Map.entry("GET /element/{id}/enabled", "isEnabled"),
+            Map.entry("GET /element/{id}/selected", "isSelected"),
+            Map.entry("GET /element/{id}/rect", "getRect"),
+            Map.entry("POST /execute/sync", "executeScript"),
+            Map.entry("POST /execute/async", "executeAsyncScript"),
+            Map.entry("GET /source", "getPageSource"),
+            Map.entry("POST /url", "get"),
+            Map.entry("GET /url", "getCurrentUrl"),
+            Map.entry("GET /title", "getTitle"),
+            Map.entry("GET /screenshot", "getScreenshot"),
+            Map.entry("POST /actions", "performActions"),
+            Map.entry("GET /window", "getWindowHandle"),
+            Map.entry("GET /window/handles", "getWindowHandles"),
+            Map.entry("POST /window", "switchToWindow"),
+            Map.entry("GET /context", "getContext"),
+            Map.entry("POST /context", "context"),
+            Map.entry("GET /contexts", "getContextHandles")
+    );
+
+    private CommandLatencyRecorder() {
+        // Utility class: prevent instantiation
+    }
+
+    /**
+     * @return {@code true} if {@code commandLatencyEnabled} is true in Config.properties, Read once per run
+     */
+    public static boolean isEnabled() {
+        if (enabled == null) {
+            try {
+                enabled = Boolean.parseBoolean(new ConfigLoader(CONFIG_PATH).getValue("commandLatencyEnabled"));
+            } catch (Exception e) {
+                log.warn("Failed to read 'commandLatencyEnabled', Command latencies won't be recorded: {}", e.getMessage());
+                enabled = false;
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * Creates an HTTP filter recording the latency of every command sent through it.
+     *
+     * @param target the browser or device the driver belongs to (e.g., "chrome", the device name)
+     * @return the filter to be added to the driver's {@code ClientConfig}
+     */
+    public static Filter filterFor(String target) {
+        return next -> request -> {
+            long start = System.nanoTime();
+            try {
+                return next.execute(request);
+            } finally {
+                record(target, commandNameOf(request), System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Records one command latency into the run, target and current test ({@code TestName}) histograms.
+     *
+     * @param target  the browser or device the command was sent to
+     * @param command the command name
+     * @param nanos   the latency in nanoseconds
+     */
+    public static void record(String target, String command, long nanos) {
+        String testName = ThreadContext.get("TestName");
+        runHistograms.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        histogramOf(targetHistograms, target, command).record(nanos);
+        histogramOf(testHistograms, testName == null ? "unknown" : testName, command).record(nanos);
+    }
+
+    /**
+     * Returns a per-command summary of a test, Sorted by the total time the test spent in each command.
+     *
+     * @param testName the {@code TestName} the commands were recorded under
+     * @return the summary, or {@code null} if no command was recorded for the test
+     */
+    public static String getTestSummary(String testName) {
+        Map<String, LatencyHistogram> histograms = testName == null ? null : testHistograms.get(testName);
+        if (histograms == null) {
+            return null;
+        }
+        StringJoiner summary = new StringJoiner("\n", "Command latencies of '" + testName + "':\n", "");
+        histograms.entrySet().stream()
+                .sorted((first, second) -> Double.compare(second.getValue().getTotalMillis(), first.getValue().getTotalMillis()))
+                .forEach(entry -> summary.add(entry.getKey() + " | " + entry.getValue()));
+        return summary.toString();
+    }
+
+    /**
+     * Writes the run, per-target and per-test histograms as JSON to {@code commandLatencyReportFile}
+     * ({@value #DEFAULT_REPORT_FILE} by default).
+     */
+    public static void writeReport() {
+        if (runHistograms.isEmpty()) {
+            return;
+        }
+        String reportFile = DEFAULT_REPORT_FILE;
+        try {
+            String configured = new ConfigLoader(CONFIG_PATH).getValue("commandLatencyReportFile");
+            if (configured != null && !configured.isEmpty()) {
+                reportFile = configured;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read 'commandLatencyReportFile', '{}' will be used: {}", DEFAULT_REPORT_FILE, e.getMessage());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("run", summarize(runHistograms));
+        Map<String, Object> targets = new TreeMap<>();
+        targetHistograms.forEach((target, histograms) -> targets.put(target, summarize(histograms)));
+        report.put("targets", targets);
+        Map<String, Object> tests = new TreeMap<>();
+        testHistograms.forEach((test, histograms) -> tests.put(test, summarize(histograms)));
+        report.put("tests", tests);
+
+        Path reportPath = Path.of(reportFile);
+        try {
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(reportPath)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+            }
+            log.info("Command latency report is written to '{}'.", reportPath);
+        } catch (IOException e) {
+            log.error("Failed to write the command latency report '{}': {}", reportPath, e.getMessage());
+        }
+    }
+
+    private static LatencyHistogram histogramOf(Map<String, Map<String, LatencyHistogram>> histograms, String key, String command) {
+        return histograms.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, k -> new LatencyHistogram());
+    }
+
+    private static Map<String, Object> summarize(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((command, histogram) -> summaries.put(command, histogram.summary()));
+        return summaries;
+    }
+
+    /**
+     * Resolves the command name of a request, e.g. "POST /session/{sid}/element/{eid}/click" → "click".
+     */
+    private static String commandNameOf(HttpRequest request) {
+        String path = request.getUri()
+                .replaceFirst("^.*?/session/[^/]+", "")
+                .replaceAll("/element/[^/]+", "/element/{id}")
+                .replaceAll("/(attribute|property|css)/[^/]+", "/$1/{name}")
+                .replaceFirst("^/element/\\{id}$", "/element");
+        if (request.getUri().matches("^.*?/session/?$")) {
+            path = "/session";
+        }
+        String route = request.getMethod() + " " + path;
+        String command = COMMAND_NAMES.getOrDefault(route, route);
+        if (command.equals("executeScript")) {
+            try {
+                JsonElement script = JsonParser.parseString(Contents.string(request)).getAsJsonObject().get("script");
+                if (script != null && script.getAsString().startsWith("mobile:")) {
+                    command = script.getAsString().substring("mobile:".length()).trim();
+                }
+            } catch (RuntimeException e) {
+                log.debug("Failed to read the executed script name: {}", e.getMessage());
+            }
+        }
+        return command;
+    }
+}
@@ -0,0 +1,282 @@
+package utility;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * CrossProcessLeaseTable is a lease table shared by all JVMs on the host through a memory-mapped file,
+ * So parallel forks or suites never lease the same device or user at once.
+ * <br>Every change is made while holding an exclusive {@link FileLock} on the file, Reads of the mapping are lock-free hints.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>No external service: The table is a fixed-size file of slots, Each holding a key and the owning process.</li>
+ *   <li>Reclaims leases of dead processes automatically, Detecting reused pids by the process start time.</li>
+ *   <li>Releases the leases of the process on normal JVM exit.</li>
+ *   <li>One instance per file per JVM, Shared by all pools of the process.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * CrossProcessLeaseTable table = CrossProcessLeaseTable.open(Path.of("target/lease-table.dat"));
+ * if (table.tryLease("device:Pixel_7")) {
+ *     // ... use the device ...
+ *     table.release("device:Pixel_7");
+ * }
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public final class CrossProcessLeaseTable {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final Map<Path, CrossProcessLeaseTable> openTables = new ConcurrentHashMap<>();
+
+    private static final int MAGIC = 0x4C454153;                    // "LEAS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;                      // magic, version, slot count, reserved
+    private static final int SLOT_SIZE = 128;
+    private static final int MAX_KEY_BYTES = 94;                    // Slot: key length (2) + key (94) + pid, start, leased at (8 each) + reserved (8)
+    private static final int PID_OFFSET = 96;
+    private static final int START_OFFSET = 104;
+    private static final int LEASED_AT_OFFSET = 112;
+    private static final int DEFAULT_SLOTS = 256;
+
+    private static final long CURRENT_PID = ProcessHandle.current().pid();
+    private static final long CURRENT_START = startMillisOf(ProcessHandle.current());
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer table;
+    private final int slots;
+
+    private CrossProcessLeaseTable(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try (FileLock ignored = channel.lock()) {
+            if (channel.size() == 0) {
+                channel.write(ByteBuffer.allocate(HEADER_SIZE + DEFAULT_SLOTS * SLOT_SIZE));
+            }
+            this.table = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (table.getInt(0) == 0) {
+                table.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, DEFAULT_SLOTS);
+            }
+            if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION) {
+                throw new IllegalStateException("'" + file + "' isn't a lease table of version " + VERSION);
+            }
+            this.slots = table.getInt(8);
+            if (HEADER_SIZE + (long) slots * SLOT_SIZE > channel.size()) {
+                throw new IllegalStateException("Lease table '" + file + "' is truncated.");
+            }
+        }
+    }
+
+    /**
+     * Opens the lease table of the file, Creating the file if it doesn't exist.
+     *
+     * @param file the table file, Shared by all processes coordinating with each other
+     * @return the table, The same instance for the same file within the JVM
+     * @throws UncheckedIOException if the file can't be opened
+     */
+    public static CrossProcessLeaseTable open(Path file) {
+        return openTables.computeIfAbsent(file.toAbsolutePath().normalize(), path -> {
+            try {
+                CrossProcessLeaseTable leaseTable = new CrossProcessLeaseTable(path);
+                Runtime.getRuntime().addShutdownHook(new Thread(leaseTable::releaseAll, "lease-table-release"));
+                log.info("Cross-process lease table '{}' is opened with '{}' slots, '{}' stale leases reclaimed.",
+                        path, leaseTable.slots, leaseTable.reclaimStale());
+                return leaseTable;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open the lease table: " + path, e);
+            }
+        });
+    }
+
+    /**
+     * Leases the key for this process, Reclaiming it first if its owner process is dead.
+     *
+     * @param key the key (e.g., "device:Pixel_7")
+     * @return {@code true} if the key is leased now, {@code false} if a live process (this one included) holds it
+     * @throws IllegalStateException if the table has no free slot
+     */
+    public synchronized boolean tryLease(String key) {
+        byte[] keyBytes = bytesOf(key);
+        try (FileLock ignored = channel.lock()) {
+            int freeSlot = -1;
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = offsetOf(slot);
+                long pid = table.getLong(offset + PID_OFFSET);
+                if (pid == 0) {
+                    freeSlot = freeSlot < 0 ? slot : freeSlot;
+                } else if (keyEquals(offset, keyBytes)) {
+                    if (isAlive(pid, table.getLong(offset + START_OFFSET))) {
+                        return false;
+                    }
+                    log.warn("Reclaiming lease '{}' of dead process '{}'.", key, pid);
+                    freeSlot = slot;
+                    break;
+                }
+            }
+            if (freeSlot < 0) {
+                throw new IllegalStateException("Lease table '" + file + "' has no free slot for '" + key + "'.");
+            }
+            write(offsetOf(freeSlot), keyBytes);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to lock the lease table: " + file, e);
+        }
+    }
+
+    /**
+     * Releases the key if this process holds it.
+     *
+     * @param key the key
+     */
+    public synchronized void release(String key) {
+        byte[] keyBytes = bytesOf(key);
+        try (FileLock ignored = channel.lock()) {
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = offsetOf(slot);
+                if (table.getLong(offset + PID_OFFSET) == CURRENT_PID && keyEquals(offset, keyBytes)) {
+                    clear(offset);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to lock the lease table: " + file, e);
+        }
+    }
+
+    /**
+     * Lock-free hint whether a live process holds the key, To skip such keys before trying to lease them.
+     *
+     * @param key the key
+     * @return {@code true} if the key seems to be held by a live process (this one included)
+     */
+    public boolean isLeased(String key) {
+        byte[] keyBytes = bytesOf(key);
+        for (int slot = 0; slot < slots; slot++) {
+            int offset = offsetOf(slot);
+            long pid = table.getLong(offset + PID_OFFSET);
+            if (pid != 0 && keyEquals(offset, keyBytes) && isAlive(pid, table.getLong(offset + START_OFFSET))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Frees the slots of dead processes.
+     *
+     * @return the number of reclaimed leases
+     */
+    public synchronized int reclaimStale() {
+        int reclaimed = 0;
+        try (FileLock ignored = channel.lock()) {
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = offsetOf(slot);
+                long pid = table.getLong(offset + PID_OFFSET);
+                if (pid != 0 && !isAlive(pid, table.getLong(offset + START_OFFSET))) {
+                    clear(offset);
+                    reclaimed++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to lock the lease table: " + file, e);
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Releases all the leases of this process, Called on JVM exit.
+     */
+    public synchronized void releaseAll() {
+        try (FileLock ignored = channel.lock()) {
+            for (int slot = 0; slot < slots; slot++) {
+                int offset = offsetOf(slot);
+                if (table.getLong(offset + PID_OFFSET) == CURRENT_PID) {
+                    clear(offset);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to release the leases of the lease table '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static byte[] bytesOf(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Lease key is longer than " + MAX_KEY_BYTES + " bytes: " + key);
+        }
+        return keyBytes;
+    }
+
+    private boolean keyEquals(int offset, byte[] keyBytes) {
+        if (table.getShort(offset) != keyBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (table.get(offset + 2 + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(int offset, byte[] keyBytes) {
+        table.putShort(offset, (short) keyBytes.length);
+        table.put(offset + 2, keyBytes);
+        table.putLong(offset + START_OFFSET, CURRENT_START);
+        table.putLong(offset + LEASED_AT_OFFSET, System.currentTimeMillis());
+        table.putLong(offset + PID_OFFSET, CURRENT_PID);         // Written last, The slot is taken once the pid is set
+    }
+
+    private void clear(int offset) {
+        table.putLong(offset + PID_OFFSET, 0);
+        table.putShort(offset, (short) 0);
+    }
+
+    /**
+     * @return {@code true} if the process is alive and started at the given time (0 if unknown), So a reused pid isn't alive
+     */
+    private static boolean isAlive(long pid, long startMillis) {
+        if (pid == CURRENT_PID) {
+            return startMillis == CURRENT_START;
+        }
+        Optional<ProcessHandle> process = ProcessHandle.of(pid);
+        if (process.isEmpty() || !process.get().isAlive()) {
+            return false;
+        }
+        long actualStart = startMillisOf(process.get());
+        return startMillis == 0 || actualStart == 0 || actualStart == startMillis;
+    }
+
+    private static long startMillisOf(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+}
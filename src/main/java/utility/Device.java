@@ -0,0 +1,84 @@
+package utility;
+
+import java.util.Map;
+
+/**
+ * Device is an immutable, typed record of one mobile device of the devices pool.
+ * <br>Built once from the JSON device record, So callers never deal with Gson's {@code Double} numbers or missing keys.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * Device device = Device.fromMap(jsonFileManager.getListOfMapsByKey("devices").get(0));
+ * int serverPort = device.serverPort();
+ * }</pre>
+ *
+ * @param deviceName          the device name
+ * @param uuid                the device udid (e.g., "emulator-5554")
+ * @param serverPort          the port of the device's Appium server
+ * @param systemPort          the UiAutomator2 system port
+ * @param chromedriverPort    the dedicated chromedriver port, or {@code null} if not defined
+ * @param webviewDevtoolsPort the dedicated webview devtools port, or {@code null} if not defined
+ * @param mjpegServerPort     the dedicated MJPEG screenshot stream port, or {@code null} if not defined
+ * @param formFactor          the form factor (e.g., "phone", "tablet", "foldable"), or {@code null} if not defined
+ * @param apiLevel            the Android API level, or {@code null} if not defined
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public record Device(String deviceName, String uuid, int serverPort, int systemPort,
+                     Integer chromedriverPort, Integer webviewDevtoolsPort, Integer mjpegServerPort,
+                     String formFactor, Integer apiLevel) {
+
+    public Device {
+        if (deviceName == null || uuid == null) {
+            throw new IllegalArgumentException("Device 'deviceName' and 'uuid' are required, But got: " + deviceName + ", " + uuid);
+        }
+    }
+
+    /**
+     * Creates a device from a JSON device record.
+     *
+     * @param device the record with {@code deviceName}, {@code uuid}, {@code serverPort}, {@code systemPort}
+     *               and optionally {@code chromedriverPort}, {@code webviewDevtoolsPort}, {@code mjpegServerPort}, {@code formFactor} and {@code apiLevel}
+     * @return the typed device
+     * @throws IllegalArgumentException if a required key is missing
+     */
+    public static Device fromMap(Map<String, Object> device) {
+        return new Device(
+                stringOf(device, "deviceName"),
+                stringOf(device, "uuid"),
+                requiredIntOf(device, "serverPort"),
+                requiredIntOf(device, "systemPort"),
+                intOf(device, "chromedriverPort"),
+                intOf(device, "webviewDevtoolsPort"),
+                intOf(device, "mjpegServerPort"),
+                stringOf(device, "formFactor"),
+                intOf(device, "apiLevel"));
+    }
+
+    /**
+     * @return a copy of the device with the given Appium server and per-session ports
+     */
+    public Device withPorts(int serverPort, int systemPort, Integer chromedriverPort, Integer webviewDevtoolsPort,
+                            Integer mjpegServerPort) {
+        return new Device(deviceName, uuid, serverPort, systemPort, chromedriverPort, webviewDevtoolsPort, mjpegServerPort,
+                formFactor, apiLevel);
+    }
+
+    private static String stringOf(Map<String, Object> device, String key) {
+        Object value = device.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    private static int requiredIntOf(Map<String, Object> device, String key) {
+        Integer value = intOf(device, key);
+        if (value == null) {
+            throw new IllegalArgumentException("Device '" + device.get("deviceName") + "' doesn't define '" + key + "'.");
+        }
+        return value;
+    }
+
+    private static Integer intOf(Map<String, Object> device, String key) {
+        Object value = device.get(key);
+        return value instanceof Number number ? Integer.valueOf(number.intValue()) : null;
+    }
+}
@@ -0,0 +1,70 @@
+package utility;
+
+/**
+ * DeviceLease grants exclusive use of a {@link Device} until it's closed.
+ * <br>Closing the lease returns the device to its {@link DevicesManager}, Closing it again has no effect.
+ * <br>Wraps the {@link ResourcePool.Lease} of the pooled device, While {@link #device()} carries the device's allocated ports.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (DeviceLease lease = deviceManager.acquire(Duration.ofMinutes(5))) {
+ *     Device device = lease.device();
+ *     // ... use the device ...
+ * }
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public final class DeviceLease implements AutoCloseable {
+
+    private final DevicesManager owner;
+    private final ResourcePool.Lease<Device> poolLease;
+    private final Device device;
+    private boolean closed;
+
+    DeviceLease(DevicesManager owner, ResourcePool.Lease<Device> poolLease, Device device) {
+        this.owner = owner;
+        this.poolLease = poolLease;
+        this.device = device;
+    }
+
+    /**
+     * @return the leased device
+     */
+    public Device device() {
+        return device;
+    }
+
+    /**
+     * @return the time the lease was acquired at, In {@link System#nanoTime()} units
+     */
+    long acquiredAtNanos() {
+        return poolLease.acquiredAtNanos();
+    }
+
+    /**
+     * @return the device as it's kept in the pool
+     */
+    Device pooledDevice() {
+        return poolLease.resource();
+    }
+
+    /**
+     * Returns the pooled device to its pool.
+     */
+    void closePoolLease() {
+        poolLease.close();
+    }
+
+    /**
+     * Returns the device to the pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            owner.returnDevice(this);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package utility;
+
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * DeviceRequirement is the set of traits a device must have to run a test, Built from {@link RequiresDevice}.
+ *
+ * @param formFactor        the required form factor, or {@code null} for any
+ * @param minApiLevel       the minimum API level
+ * @param maxApiLevel       the maximum API level
+ * @param deviceNamePattern the pattern the device name must fully match, or {@code null} for any
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public record DeviceRequirement(String formFactor, int minApiLevel, int maxApiLevel, Pattern deviceNamePattern)
+        implements Predicate<Device> {
+
+    /**
+     * A requirement every device matches.
+     */
+    public static final DeviceRequirement ANY = new DeviceRequirement(null, 0, Integer.MAX_VALUE, null);
+
+    /**
+     * @param annotation the annotation of the test method or class, May be null
+     * @return the requirement declared by the annotation, or {@link #ANY} if there's no annotation
+     */
+    public static DeviceRequirement from(RequiresDevice annotation) {
+        if (annotation == null) {
+            return ANY;
+        }
+        return new DeviceRequirement(
+                annotation.formFactor().isBlank() ? null : annotation.formFactor().trim().toLowerCase(),
+                annotation.minApiLevel(),
+                annotation.maxApiLevel(),
+                annotation.deviceNamePattern().isBlank() ? null : Pattern.compile(annotation.deviceNamePattern()));
+    }
+
+    /**
+     * @param device the device to check
+     * @return {@code true} if the device has all the required traits
+     */
+    public boolean matches(Device device) {
+        if (formFactor != null && !formFactor.equalsIgnoreCase(device.formFactor())) {
+            return false;
+        }
+        if (minApiLevel > 0 || maxApiLevel < Integer.MAX_VALUE) {
+            if (device.apiLevel() == null || device.apiLevel() < minApiLevel || device.apiLevel() > maxApiLevel) {
+                return false;
+            }
+        }
+        return deviceNamePattern == null || deviceNamePattern.matcher(device.deviceName()).matches();
+    }
+
+    /**
+     * Same as {@link #matches(Device)}, So the requirement can select devices of a {@link ResourcePool}.
+     */
+    @Override
+    public boolean test(Device device) {
+        return matches(device);
+    }
+
+    @Override
+    public String toString() {
+        if (this.equals(ANY)) {
+            return "any device";
+        }
+        StringJoiner traits = new StringJoiner(", ");
+        if (formFactor != null) {
+            traits.add("formFactor=" + formFactor);
+        }
+        if (minApiLevel > 0 || maxApiLevel < Integer.MAX_VALUE) {
+            traits.add("apiLevel=" + minApiLevel + ".." + (maxApiLevel == Integer.MAX_VALUE ? "" : maxApiLevel));
+        }
+        if (deviceNamePattern != null) {
+            traits.add("deviceName~" + deviceNamePattern.pattern());
+        }
+        return traits.toString();
+    }
+}
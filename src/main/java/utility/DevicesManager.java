@@ -7,11 +7,35 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -20,18 +44,29 @@ import static java.lang.invoke.MethodHandles.lookup;
  *
  * <p>Key Features:
  * <ul>
- *   <li>Maintains a thread-safe queue of available devices.</li>
- *   <li>Provides synchronized acquisition and release of devices.</li>
- *   <li>Starts and stops Appium services for each device using a provided configuration.</li>
+ *   <li>Maintains a fair, thread-safe {@link ResourcePool} of typed {@link Device} records.</li>
+ *   <li>Matches devices to the traits tests require (see {@link RequiresDevice}), Preferring the device that last ran
+ *   the same test class to reuse its warm state.</li>
+ *   <li>Leases devices with a timeout as {@link DeviceLease}s released by closing them (try-with-resources).</li>
+ *   <li>Records queue wait, lease duration and utilization metrics per device.</li>
+ *   <li>Optionally scales the pool by booting emulators for waiting tests and shutting down idle ones (see {@link EmulatorLauncher}).</li>
+ *   <li>Quarantines devices failing repeatedly and reinstates them once a background probe finds them responsive.</li>
+ *   <li>Starts Appium services in parallel (or lazily on first lease), Each gated by a {@code /status} readiness probe.</li>
+ *   <li>Optionally allocates every device's ports from configurable ranges (see {@link PortAllocator}) instead of the JSON ports.</li>
+ *   <li>Optionally coordinates leases with other JVMs on the host through a {@link CrossProcessLeaseTable}.</li>
+ *   <li>Optionally hosts all devices on one shared Appium server with automatically allocated per-device ports.</li>
+ *   <li>Captures each server's output to a per-device rolling log file and restarts crashed servers.</li>
+ *   <li>Tracks which preparation steps (UiAutomator2 server install, device init, settings) each device completed in this run.</li>
  *   <li>Logs device and service activity using Log4j.</li>
  * </ul>
  *
  * <p>Usage Example:
  * <pre>{@code
  * DevicesManager deviceManager = new DevicesManager();
- * deviceManager.initialize(new Map[]{device1, device2});
- * Map<String, Object> device = deviceManager.acquireDevice();
- * deviceManager.releaseDevice(device);
+ * deviceManager.initialize(List.of(device1, device2));
+ * try (DeviceLease lease = deviceManager.acquire(Duration.ofMinutes(10))) {
+ *     Device device = lease.device();
+ * }
  * deviceManager.startAllServices(configLoader);
  * deviceManager.stopAllServices();
  * }</pre>
@@ -41,16 +76,75 @@ import static java.lang.invoke.MethodHandles.lookup;
  */
 public class DevicesManager {
 
-    private final Queue<Map<String, Object>> availableDevices = new ConcurrentLinkedQueue<>();
-    private boolean initialized = false;
+    private final List<Device> devices = new CopyOnWriteArrayList<>();
+    private final ResourcePool<Device> pool = new ResourcePool<>("device", Device::deviceName);
+    private final Map<String, String> lastAffinityKeys = new ConcurrentHashMap<>();
+    private final LongAdder affinityHits = new LongAdder();
+    private volatile boolean initialized = false;
     private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String SHARED_SERVICE_KEY = "shared";
     private final Map<String, AppiumDriverLocalService> runningServices = new ConcurrentHashMap<>();
+    private final Executor serviceExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<URI>> serviceStarts = new ConcurrentHashMap<>();
+    private final Map<String, OutputStream> serviceLogs = new ConcurrentHashMap<>();
+    private final Map<String, Device> serviceOwners = new ConcurrentHashMap<>();
+    private volatile boolean sharedServer;
+    private volatile PortAllocator portAllocator;
+    private volatile CrossProcessLeaseTable crossProcessLeases;
+    private final Map<String, Device> pinnedDevices = new ConcurrentHashMap<>();
+    private int sharedServerPort;                                               // Guarded by this
+    private final HttpClient statusClient = HttpClient.newHttpClient();
+    private final ScheduledExecutorService serviceWatchdog = daemonScheduler("appium-service-watchdog");
+    private final ScheduledExecutorService recoveryProber = daemonScheduler("device-recovery-prober");  // adb probes can block, Off the watchdog
+    private final ScheduledExecutorService poolScaler = daemonScheduler("devices-pool-scaler");
+    private final AtomicBoolean watchdogStarted = new AtomicBoolean();
+    private final LongAdder serviceRestarts = new LongAdder();
+    private volatile boolean stopping;
+    private static final Map<String, Set<Readiness>> deviceReadiness = new ConcurrentHashMap<>();
+    private final Map<String, DeviceHealth> deviceHealth = new ConcurrentHashMap<>();
+    private final Map<String, Device> quarantinedDevices = new ConcurrentHashMap<>();
+    private volatile int quarantineThreshold;                                   // 0 = quarantine disabled
+    private volatile String adbPath = "adb";
+    private volatile int recoveryProbeIntervalSeconds = 30;
+    private volatile EmulatorLauncher emulatorLauncher;                         // null = static pool
+    private final Set<String> launchedDevices = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger bootingEmulators = new AtomicInteger();
+    private final LongAdder emulatorLaunches = new LongAdder();
+    private final LongAdder emulatorShutdowns = new LongAdder();
+    private int elasticPoolMinSize;
+    private int elasticPoolMaxSize;
+    private Duration emulatorIdleShutdown;
+    private int emulatorMemoryMb;
+    private int maxHostCpuLoadPercent;
+
+    /**
+     * Health of one device: Consecutive failures and quarantine history.
+     */
+    private static final class DeviceHealth {
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final LongAdder quarantines = new LongAdder();
+        private final LongAdder quarantinedNanos = new LongAdder();
+        private volatile long quarantinedAtNanos;                               // 0 when the device is healthy
+        private volatile String lastFailure;
+    }
+
+    /**
+     * Preparation steps a session performs on a device, Once done they don't need to be repeated by later sessions in the run.
+     */
+    public enum Readiness {
+        /** The UiAutomator2 server APKs are installed and up to date. */
+        serverInstalled,
+        /** The Appium settings app is installed and its permissions are granted. */
+        deviceInitialized,
+        /** The device is unlocked and its automation settings are applied. */
+        settingsApplied
+    }
 
     /**
      * Initializes the pool of available devices with the given list.
      * <p>
-     * Each device is a {@code Map<String, Object>} with properties like
-     * {@code deviceName}, {@code uuid}, and {@code serverPort}.
+     * Each device is a {@code Map<String, Object>} JSON record with properties like
+     * {@code deviceName}, {@code uuid}, and {@code serverPort}, Converted once to a typed {@link Device}.
      * <br>Initialization happens only once; calling again has no effect.
      *
      * @param devices the list of devices to add to the pool
@@ -61,77 +155,768 @@ public class DevicesManager {
             throw new NullPointerException("The devices list cannot be null.");
         }
         if (!initialized) {
-            availableDevices.addAll(devices);
-            log.info("Devices pool initialized with '{}' devices '{}'.", devices.size(), devices);
+            List<Device> typedDevices = devices.stream().map(Device::fromMap).toList();
+            this.devices.addAll(typedDevices);
+            typedDevices.forEach(device -> deviceHealth.put(device.deviceName(), new DeviceHealth()));
+            pool.addAll(typedDevices);
+            log.info("Devices pool initialized with '{}' devices '{}'.", typedDevices.size(), typedDevices);
             initialized = true;
         }
     }
 
 
     /**
-     * Acquires a device from the pool in a thread-safe manner.
-     * Waits if no device is currently available.
+     * Leases any device from the pool, Waiting up to the given timeout if all devices are in use.
+     *
+     * @param timeout the maximum time to wait for a free device
+     * @return the lease of the device, To be closed (or passed to {@link #release(DeviceLease)}) when done
+     * @throws InterruptedException  if the thread is interrupted while waiting for a device
+     * @throws IllegalStateException if the pool isn't initialized or no device becomes free within the timeout
+     * @see #acquire(DeviceRequirement, String, Duration)
+     */
+    public DeviceLease acquire(Duration timeout) throws InterruptedException {
+        return acquire(DeviceRequirement.ANY, null, timeout);
+    }
+
+    /**
+     * Leases a device matching the requirement, Waiting up to the given timeout if all matching devices are in use.
+     * <br>Among the free matching devices, The one that last ran the same affinity key (e.g., the test class) is preferred,
+     * So its warm app/session state can be reused.
+     * <br>Waiting threads are served in arrival order, And a released device is handed directly to the first waiter
+     * it matches, Waking that waiter only.
      *
-     * @return a map representing the acquired device properties
-     * @throws InterruptedException if the thread is interrupted while waiting for a device
+     * @param requirement the traits the device must have
+     * @param affinityKey the key to prefer the device that last ran it (e.g., the test class name), May be null
+     * @param timeout     the maximum time to wait for a matching device
+     * @return the lease of the device, To be closed (or passed to {@link #release(DeviceLease)}) when done
+     * @throws InterruptedException     if the thread is interrupted while waiting for a device
+     * @throws IllegalArgumentException if no device of the pool matches the requirement
+     * @throws IllegalStateException    if the pool isn't initialized or no device becomes free within the timeout
      */
-    public synchronized Map<String, Object> acquireDevice() throws InterruptedException {
-        while (availableDevices.isEmpty()) {
-            log.info("No free devices, waiting...");
-            wait();
+    public DeviceLease acquire(DeviceRequirement requirement, String affinityKey, Duration timeout) throws InterruptedException {
+        if (!initialized) {
+            throw new IllegalStateException("Devices pool isn't initialized yet.");
+        }
+        EmulatorLauncher launcher = emulatorLauncher;
+        if (devices.stream().noneMatch(requirement::matches) && (launcher == null || !launcher.canLaunch(requirement))) {
+            log.error("No device of the pool matches '{}', Devices: '{}'.", requirement, devices);
+            throw new IllegalArgumentException("No device of the pool matches the requirement: " + requirement);
+        }
+        ResourcePool.Lease<Device> poolLease = pool.acquire(requirement, affinityKey == null ? null
+                : candidate -> affinityKey.equals(lastAffinityKeys.get(candidate.deviceName())), timeout);
+        Device device = poolLease.resource();
+        boolean affinityHit = affinityKey != null && affinityKey.equals(lastAffinityKeys.get(device.deviceName()));
+        if (affinityKey != null) {
+            lastAffinityKeys.put(device.deviceName(), affinityKey);
+        }
+        if (affinityHit) {
+            affinityHits.increment();
         }
-        Map<String, Object> device = availableDevices.poll();
-        log.info("Acquired device: {}", device);
-        return device;
+        log.info("Scheduled device '{}' for '{}' (requirement: '{}', affinity: '{}') after waiting '{}' ms.",
+                device.deviceName(), affinityKey, requirement, affinityHit ? "hit" : "miss",
+                TimeUnit.NANOSECONDS.toMillis(poolLease.waitedNanos()));
+        return new DeviceLease(this, poolLease, withAllocatedPorts(device));
     }
 
     /**
-     * Releases a previously acquired device back into the pool.
+     * Releases a leased device back into the pool, Same as closing the lease.
      *
-     * @param device a map representing the device to be released
+     * @param lease the lease of the device to be released
      */
-    public synchronized void releaseDevice(Map<String, Object> device) {
-        availableDevices.offer(device);
-        log.info("Released device: {}", device);
-        notifyAll();
+    public void release(DeviceLease lease) {
+        lease.close();
+    }
+
+    /**
+     * Returns the device of a closed lease to the pool, Called once per lease by {@link DeviceLease#close()}.
+     */
+    void returnDevice(DeviceLease lease) {
+        Device device = lease.pooledDevice();
+        boolean quarantined = deviceHealth.get(device.deviceName()).quarantinedAtNanos != 0;
+        if (quarantined) {
+            pool.evict(device);                                 // Kept out until the probe passes
+            quarantinedDevices.put(device.deviceName(), device);
+        }
+        lease.closePoolLease();
+        log.info("Released device '{}' {}after '{}' ms.", device.deviceName(), quarantined ? "into quarantine " : "",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lease.acquiredAtNanos()));
+    }
+
+    /**
+     * Enables quarantining devices after consecutive failures, Reading {@code deviceQuarantineThreshold},
+     * {@code deviceRecoveryProbeIntervalSeconds} and {@code adbPath}.
+     * <br>With {@code deviceValidateOnBorrow}, Every device is probed before it's leased, And unresponsive devices are
+     * quarantined instead of being handed to a test.
+     *
+     * @param config the configuration loader
+     */
+    public void enableQuarantine(ConfigLoader config) throws Exception {
+        String configuredAdbPath = config.getValue("adbPath");
+        adbPath = configuredAdbPath == null || configuredAdbPath.isEmpty() ? "adb" : configuredAdbPath;
+        recoveryProbeIntervalSeconds = intValueOf(config, "deviceRecoveryProbeIntervalSeconds", 30);
+        quarantineThreshold = intValueOf(config, "deviceQuarantineThreshold", 3);
+        if (Boolean.parseBoolean(config.getValue("deviceValidateOnBorrow"))) {
+            pool.setValidator(device -> {
+                if (isDeviceResponsive(device)) {
+                    return true;
+                }
+                quarantine(device, "Unresponsive on borrow");
+                quarantinedDevices.put(device.deviceName(), device);    // Evicted by the pool, Reinstated by the probe
+                return false;
+            });
+        }
+        log.info("Devices are quarantined after '{}' consecutive failures.", quarantineThreshold);
+    }
+
+    /**
+     * Records a session-creation or infrastructure failure of a device.
+     * <br>Reaching {@code deviceQuarantineThreshold} consecutive failures quarantines the device: It's kept out of the pool
+     * once released, And a background probe reinstates it when it responds again.
+     *
+     * @param device the failing device
+     * @param reason the failure, Logged and kept as the device's last failure
+     */
+    public void recordFailure(Device device, Throwable reason) {
+        DeviceHealth health = deviceHealth.get(device.deviceName());
+        int failures = health.consecutiveFailures.incrementAndGet();
+        health.lastFailure = reason == null ? "unknown" : reason.getClass().getSimpleName() + ": " + reason.getMessage();
+        log.warn("Device '{}' failed '{}' time(s) in a row: {}", device.deviceName(), failures, health.lastFailure);
+        if (quarantineThreshold > 0 && failures >= quarantineThreshold) {
+            quarantine(device, failures + " consecutive failures, Last failure: " + health.lastFailure);
+        }
+    }
+
+    /**
+     * Marks the device quarantined and schedules its recovery probe, Once until it's reinstated.
+     */
+    private void quarantine(Device device, String reason) {
+        DeviceHealth health = deviceHealth.get(device.deviceName());
+        synchronized (health) {
+            if (health.quarantinedAtNanos != 0) {
+                return;
+            }
+            health.quarantinedAtNanos = System.nanoTime();
+        }
+        health.quarantines.increment();
+        resetReadiness(device.uuid());                          // Prepare it fully once it's back
+        log.error("Device '{}' is quarantined: {}", device.deviceName(), reason);
+        scheduleRecoveryProbe(device);
+    }
+
+    /**
+     * Records a healthy use of the device (session created or test passed), Resetting its consecutive failures.
+     *
+     * @param device the healthy device
+     */
+    public void recordSuccess(Device device) {
+        deviceHealth.get(device.deviceName()).consecutiveFailures.set(0);
+    }
+
+    private void scheduleRecoveryProbe(Device device) {
+        recoveryProber.schedule(() -> {
+            DeviceHealth health = deviceHealth.get(device.deviceName());
+            Device quarantined = quarantinedDevices.get(device.deviceName());
+            if (stopping) {
+                return;
+            }
+            if (quarantined == null || !isDeviceResponsive(quarantined)) {      // Still leased or still unhealthy
+                scheduleRecoveryProbe(device);
+                return;
+            }
+            long quarantinedNanos = System.nanoTime() - health.quarantinedAtNanos;
+            health.quarantinedNanos.add(quarantinedNanos);
+            health.consecutiveFailures.set(0);
+            health.quarantinedAtNanos = 0;
+            quarantinedDevices.remove(device.deviceName());
+            pool.add(quarantined);
+            log.info("Device '{}' is reinstated after '{}' seconds in quarantine.", device.deviceName(),
+                    TimeUnit.NANOSECONDS.toSeconds(quarantinedNanos));
+        }, recoveryProbeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Recovery probe: The device is responsive if {@code adb shell getprop sys.boot_completed} answers "1" within 10 seconds.
+     */
+    private boolean isDeviceResponsive(Device device) {
+        try {
+            Process process = new ProcessBuilder(adbPath, "-s", device.uuid(), "shell", "getprop", "sys.boot_completed")
+                    .redirectErrorStream(true)
+                    .start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            String output = new String(process.getInputStream().readAllBytes()).trim();
+            return process.exitValue() == 0 && output.equals("1");
+        } catch (IOException e) {
+            log.debug("Recovery probe of device '{}' failed: {}", device.deviceName(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Makes the pool elastic: Emulators are booted by the launcher while tests wait for devices it can provide,
+     * And launched emulators idle for {@code elasticPoolIdleShutdownSeconds} are shut down, Keeping the pool
+     * (JSON devices included) between {@code elasticPoolMinSize} and {@code elasticPoolMaxSize} devices.
+     * <br>An emulator is only booted while the host has {@code emulatorMemoryMb} free memory per booting emulator
+     * and its CPU load is below {@code elasticPoolMaxCpuLoadPercent}.
+     * <br>Launched emulators get their ports allocated dynamically, So {@link #useDynamicPorts(ConfigLoader)} is enabled too.
+     * <br>Must be called after {@link #initialize(List)}.
+     *
+     * @param launcher the launcher booting and shutting down emulators
+     * @param config   the configuration loader
+     * @throws Exception if the configuration can't be read or a port range is invalid
+     */
+    public synchronized void enableElasticPool(EmulatorLauncher launcher, ConfigLoader config) throws Exception {
+        if (!initialized) {
+            throw new IllegalStateException("Devices pool isn't initialized yet.");
+        }
+        if (emulatorLauncher != null) {
+            return;
+        }
+        useDynamicPorts(config);
+        elasticPoolMinSize = intValueOf(config, "elasticPoolMinSize", 0);
+        elasticPoolMaxSize = intValueOf(config, "elasticPoolMaxSize", 4);
+        emulatorIdleShutdown = Duration.ofSeconds(intValueOf(config, "elasticPoolIdleShutdownSeconds", 300));
+        emulatorMemoryMb = intValueOf(config, "emulatorMemoryMb", 2048);
+        maxHostCpuLoadPercent = intValueOf(config, "elasticPoolMaxCpuLoadPercent", 85);
+        emulatorLauncher = launcher;
+        pool.setShortageListener(() -> {
+            if (!stopping) {
+                poolScaler.execute(this::scalePool);      // Runs once the waiter is queued (the lock is released)
+            }
+        });
+        int intervalSeconds = intValueOf(config, "elasticPoolScaleIntervalSeconds", 5);
+        poolScaler.scheduleWithFixedDelay(this::scalePool, 0, intervalSeconds, TimeUnit.SECONDS);
+        log.info("Elastic devices pool enabled with '{}', Size '{}'-'{}' devices.", launcher.getClass().getSimpleName(),
+                elasticPoolMinSize, elasticPoolMaxSize);
+    }
+
+    /**
+     * Boots emulators for the waiting tests (or up to the minimum size) and shuts down idle launched emulators.
+     * <br>Runs on the pool scaler thread only, So scaling decisions never overlap.
+     */
+    private void scalePool() {
+        EmulatorLauncher launcher = emulatorLauncher;
+        if (launcher == null || stopping) {
+            return;
+        }
+        int pending = (int) pool.getPendingRequirements().stream()
+                .filter(requirement -> requirement instanceof DeviceRequirement deviceRequirement
+                        && launcher.canLaunch(deviceRequirement))
+                .count();
+        int removable = devices.size() + bootingEmulators.get() - elasticPoolMinSize;
+        List<Device> idleDevices = removable <= 0 ? List.of()
+                : pool.evictIdle(device -> launchedDevices.contains(device.deviceName()), emulatorIdleShutdown, removable);
+        idleDevices.forEach(device -> retireEmulator(launcher, device));
+
+        int booting = bootingEmulators.get();
+        int poolSize = devices.size() + booting;
+        int launches = Math.min(Math.max(elasticPoolMinSize - poolSize, pending - booting), elasticPoolMaxSize - poolSize);
+        for (int i = 0; i < launches; i++) {
+            if (!hasHostHeadroom()) {
+                break;
+            }
+            bootingEmulators.incrementAndGet();
+            serviceExecutor.execute(() -> launchEmulator(launcher));
+        }
+        if (pending > 0 && launches <= 0 && booting == 0) {
+            log.debug("'{}' tests wait for devices, But the pool is at its maximum size '{}'.", pending, elasticPoolMaxSize);
+        }
+    }
+
+    /**
+     * @return {@code true} if the host has the memory and CPU to boot one more emulator
+     */
+    private boolean hasHostHeadroom() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean host) {
+            long freeMemoryMb = host.getFreeMemorySize() / (1024 * 1024);
+            long requiredMemoryMb = (long) emulatorMemoryMb * (bootingEmulators.get() + 1);
+            double cpuLoadPercent = host.getCpuLoad() * 100;
+            if (freeMemoryMb < requiredMemoryMb || cpuLoadPercent > maxHostCpuLoadPercent) {
+                log.warn("No host headroom to boot an emulator (free memory: '{}' MB, required: '{}' MB, CPU load: '{}'%).",
+                        freeMemoryMb, requiredMemoryMb, Math.round(cpuLoadPercent));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void launchEmulator(EmulatorLauncher launcher) {
+        try {
+            Device device = launcher.launch();
+            emulatorLaunches.increment();
+            if (stopping) {
+                launcher.shutdown(device);
+                return;
+            }
+            deviceHealth.putIfAbsent(device.deviceName(), new DeviceHealth());
+            launchedDevices.add(device.deviceName());
+            devices.add(device);
+            pool.add(device);
+            log.info("Emulator '{}' joined the devices pool, Pool size is '{}'.", device.deviceName(), devices.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to launch an emulator: {}", e.getMessage());
+        } finally {
+            bootingEmulators.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes an idle launched emulator from the pool, Stops its Appium server and shuts it down in the background.
+     */
+    private void retireEmulator(EmulatorLauncher launcher, Device device) {
+        String deviceName = device.deviceName();
+        devices.remove(device);
+        launchedDevices.remove(deviceName);
+        lastAffinityKeys.remove(deviceName);
+        pinnedDevices.remove(deviceName);
+        resetReadiness(device.uuid());
+        if (!sharedServer) {
+            serviceOwners.remove(deviceName);                   // Before stopping, So the watchdog doesn't restart it
+            serviceStarts.remove(deviceName);
+            AppiumDriverLocalService service = runningServices.remove(deviceName);
+            if (service != null && service.isRunning()) {
+                service.stop();
+            }
+            closeQuietly(serviceLogs.remove(deviceName));
+        }
+        log.info("Emulator '{}' is idle, Shutting it down. Pool size is '{}'.", deviceName, devices.size());
+        serviceExecutor.execute(() -> {
+            try {
+                launcher.shutdown(device);
+                emulatorShutdowns.increment();
+            } catch (Exception e) {
+                log.error("Failed to shut down emulator '{}': {}", deviceName, e.getMessage());
+            }
+        });
     }
 
     /**
      * Logs all currently available devices in the pool.
      */
-    public synchronized void printAvailableDevices() {
-        log.info("Available devices: {}", availableDevices);
+    public void printAvailableDevices() {
+        log.info("Available devices: {}", pool.getFreeResources());
     }
 
     /**
-     * Starts an Appium server for each device in the available devices pool.
+     * Returns the lease metrics of every device: Leases, average/maximum queue wait,
+     * total lease duration, utilization (leased time / time since the device joined the pool),
+     * quarantine events and device-minutes lost in quarantine.
      *
-     * @param config the configuration loader providing Appium server path and IP address
-     * @throws Exception if the Appium service fails to start
+     * @return the metrics report
+     */
+    public String getLeaseMetricsReport() {
+        StringJoiner report = new StringJoiner("\n", "Device lease metrics (timeouts: " + pool.getTimeouts()
+                + ", affinity hits: " + affinityHits.sum() + ", failed validations: " + pool.getValidationFailures()
+                + (emulatorLauncher == null ? "" : ", emulators launched: " + emulatorLaunches.sum() + ", shut down: " + emulatorShutdowns.sum())
+                + "):\n", "");
+        long now = System.nanoTime();
+        pool.getLeaseMetrics().forEach((deviceName, metrics) -> {
+            DeviceHealth health = deviceHealth.get(deviceName);
+            long quarantinedAt = health.quarantinedAtNanos;
+            long lostNanos = health.quarantinedNanos.sum() + (quarantinedAt == 0 ? 0 : now - quarantinedAt);
+            report.add(String.format("%s | leases: %d, avg wait: %d ms, max wait: %d ms, leased: %d ms, utilization: %.1f%%, "
+                            + "quarantines: %d%s, lost: %.1f device-minutes",
+                    deviceName, metrics.leases(), metrics.avgWaitMillis(), metrics.maxWaitMillis(), metrics.leasedMillis(),
+                    100.0 * metrics.utilization(),
+                    health.quarantines.sum(), quarantinedAt == 0 ? "" : " (still quarantined)",
+                    lostNanos / 60_000_000_000.0));
+        });
+        return report.toString();
+    }
+
+    /**
+     * Returns the preparation steps the device completed in this run.
+     *
+     * @param uuid the device uuid
+     * @return the completed steps, Empty if the device isn't prepared yet
+     */
+    public static Set<Readiness> getReadiness(String uuid) {
+        Set<Readiness> readiness = uuid == null ? null : deviceReadiness.get(uuid);
+        return readiness == null ? EnumSet.noneOf(Readiness.class) : EnumSet.copyOf(readiness);
+    }
+
+    /**
+     * Marks preparation steps as completed for the device, Called after a session started successfully on it.
+     *
+     * @param uuid  the device uuid
+     * @param steps the completed steps
+     */
+    public static void markReady(String uuid, Readiness... steps) {
+        if (uuid == null || steps.length == 0) {
+            return;
+        }
+        deviceReadiness.computeIfAbsent(uuid, key -> ConcurrentHashMap.newKeySet()).addAll(Arrays.asList(steps));
+        log.debug("Device '{}' readiness: '{}'.", uuid, deviceReadiness.get(uuid));
+    }
+
+    /**
+     * Clears the readiness of the device, So the next session fully prepares it again.
+     *
+     * @param uuid the device uuid
+     */
+    public static void resetReadiness(String uuid) {
+        if (uuid != null && deviceReadiness.remove(uuid) != null) {
+            log.info("Readiness of device '{}' is reset, It will be fully prepared by the next session.", uuid);
+        }
+    }
+
+    /**
+     * Starts the Appium servers of all devices in parallel and waits until every server passes its readiness probe.
+     * <br>When {@code appiumServerLazyStart} is true nothing is started here, Each server starts on its device's first lease
+     * (see {@link #getServiceUri(Device, ConfigLoader)}).
+     *
+     * @param config the configuration loader providing Appium server path, IP address and startup timeout
+     * @throws Exception if any server fails to start or the servers aren't ready within {@code appiumStartupTimeoutSeconds}
      */
     public void startAllServices(ConfigLoader config) throws Exception {
         printAvailableDevices();
-        for (Map<String, Object> device : availableDevices) {
-            AppiumDriverLocalService service = new AppiumServiceBuilder()
-                    .withAppiumJS(new File(config.getValue("appiumServerPath")))
-                    .withIPAddress(config.getValue("appiumServerIPAddress"))
-                    .usingPort(((Double) device.get("serverPort")).intValue())
-                    .build();
+        if (Boolean.parseBoolean(config.getValue("appiumServerLazyStart"))) {
+            log.info("Appium servers will be started lazily on each device's first lease.");
+            return;
+        }
+        long start = System.nanoTime();
+        int startupTimeoutSeconds = intValueOf(config, "appiumStartupTimeoutSeconds", 120);
+        List<Device> serverOwners = sharedServer && !devices.isEmpty() ? List.of(devices.get(0)) : devices;  // One server hosts all
+        List<CompletableFuture<URI>> starts = serverOwners.stream().map(device -> startServiceAsync(device, config)).toList();
+        try {
+            CompletableFuture.allOf(starts.toArray(CompletableFuture[]::new)).get(startupTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            List<String> pending = serverOwners.stream()
+                    .map(this::serviceKeyOf)
+                    .filter(serviceKey -> !serviceStarts.get(serviceKey).isDone())
+                    .toList();
+            log.error("Appium servers '{}' aren't ready within '{}' seconds.", pending, startupTimeoutSeconds);
+            throw new IllegalStateException("Appium servers aren't ready within " + startupTimeoutSeconds + " seconds: " + pending, e);
+        }
+        log.info("All '{}' Appium servers are ready in '{}' ms.", starts.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Returns all the devices of the pool, Whether they are leased or not.
+     *
+     * @return the devices
+     */
+    public List<Device> getDevices() {
+        return devices.stream().map(this::withAllocatedPorts).toList();
+    }
+
+    /**
+     * Switches the pool to one Appium server hosting the sessions of all devices, Instead of a server per device.
+     * <br>Every device is reassigned to the shared server port and gets its own automatically allocated
+     * {@code systemPort}, {@code chromedriverPort} and {@code mjpegServerPort}, So the sessions of one server never collide.
+     * <br>Must be called after {@link #initialize(List)} and before any device is leased or server is started.
+     *
+     * @param config the configuration loader providing {@code appiumSharedServerPort} and the port bases
+     */
+    public synchronized void useSharedServer(ConfigLoader config) {
+        if (!initialized || sharedServer) {
+            return;
+        }
+        int serverPort = intValueOf(config, "appiumSharedServerPort", 4723);
+        int systemPortBase = intValueOf(config, "systemPortBase", 8200);
+        int chromedriverPortBase = intValueOf(config, "chromedriverPortBase", 9520);
+        int mjpegServerPortBase = intValueOf(config, "mjpegServerPortBase", 7810);
+        List<Device> sharedDevices = new ArrayList<>();
+        for (int i = 0; i < devices.size(); i++) {
+            Device device = devices.get(i);
+            sharedDevices.add(device.withPorts(serverPort, systemPortBase + i, chromedriverPortBase + i,
+                    device.webviewDevtoolsPort(), mjpegServerPortBase + i));
+        }
+        devices.forEach(pool::evict);
+        devices.clear();
+        devices.addAll(sharedDevices);
+        pool.addAll(sharedDevices);
+        sharedServer = true;
+        log.info("One Appium server on port '{}' will host all '{}' devices '{}'.", serverPort, sharedDevices.size(), sharedDevices);
+    }
+
+    /**
+     * Makes the pool allocate every device's ports from the configured ranges instead of using the JSON ports,
+     * So several suite processes can share one host.
+     * <br>A device gets its ports on its first use (lease or server start) and keeps them for the whole run.
+     * <br>Must be called after {@link #initialize(List)} (and {@link #useSharedServer(ConfigLoader)}, if used)
+     * and before any device is leased or server is started.
+     *
+     * @param config the configuration loader providing the {@code <kind>Range} port ranges
+     * @throws Exception if the configuration can't be read or a range is invalid
+     */
+    public synchronized void useDynamicPorts(ConfigLoader config) throws Exception {
+        if (portAllocator == null) {
+            portAllocator = PortAllocator.fromConfig(config);
+            if (crossProcessLeases != null) {
+                portAllocator.useSharedReservations(crossProcessLeases);
+            }
+            log.info("Device ports will be allocated dynamically on first use.");
+        }
+    }
+
+    /**
+     * Coordinates device leases with the other JVMs on the host (e.g., surefire forks or other suites) through a
+     * memory-mapped lease table, So no device is leased by two processes at once.
+     * <br>Use it with {@code dynamicPorts} and {@code appiumServerLazyStart}, So the processes don't start servers on the same ports,
+     * The dynamically allocated ports are reserved in the same table.
+     *
+     * @param leaseFile the lease table file shared by the processes
+     * @see CrossProcessLeaseTable
+     */
+    public synchronized void useCrossProcessLeases(Path leaseFile) {
+        CrossProcessLeaseTable table = CrossProcessLeaseTable.open(leaseFile);
+        crossProcessLeases = table;
+        pool.setSharedLeases(table);
+        if (portAllocator != null) {
+            portAllocator.useSharedReservations(table);
+        }
+        log.info("Devices are leased across processes through '{}'.", leaseFile);
+    }
+
+    /**
+     * Returns the device with its pinned dynamically allocated ports, Allocating them on the first call.
+     *
+     * @return the device with allocated ports, or the device itself if dynamic ports aren't used
+     */
+    private Device withAllocatedPorts(Device device) {
+        PortAllocator allocator = portAllocator;
+        if (allocator == null) {
+            return device;
+        }
+        return pinnedDevices.computeIfAbsent(device.deviceName(), deviceName -> {
+            int serverPort = sharedServer ? allocateSharedServerPort(allocator) : allocator.allocate("serverPort");
+            Device allocated = device.withPorts(serverPort,
+                    allocator.allocate("systemPort"),
+                    allocator.allocate("chromedriverPort"),
+                    allocator.allocate("webviewDevtoolsPort"),
+                    allocator.allocate("mjpegServerPort"));
+            log.info("Allocated ports of device '{}': server '{}', system '{}', chromedriver '{}', webview devtools '{}', mjpeg '{}'.",
+                    deviceName, allocated.serverPort(), allocated.systemPort(), allocated.chromedriverPort(),
+                    allocated.webviewDevtoolsPort(), allocated.mjpegServerPort());
+            return allocated;
+        });
+    }
+
+    private synchronized int allocateSharedServerPort(PortAllocator allocator) {
+        if (sharedServerPort == 0) {
+            sharedServerPort = allocator.allocate("serverPort");
+        }
+        return sharedServerPort;
+    }
+
+    /**
+     * @return the key of the Appium server hosting the device: The device name, or "shared" in shared server mode
+     */
+    private String serviceKeyOf(Device device) {
+        return sharedServer ? SHARED_SERVICE_KEY : device.deviceName();
+    }
+
+    /**
+     * Starts the Appium server of a single device in the background, Once per device.
+     * <br>Calling it again returns the same start (or the running server), Unless the previous start failed.
+     *
+     * @param device the device whose {@code serverPort} the server listens on
+     * @param config the configuration loader providing Appium server path and IP address
+     * @return a future completing with the server URI once the server passes its readiness probe
+     */
+    public CompletableFuture<URI> startServiceAsync(Device requestedDevice, ConfigLoader config) {
+        Device device = withAllocatedPorts(requestedDevice);
+        return serviceStarts.compute(serviceKeyOf(device), (serviceKey, previous) -> {
+            if (previous != null && !previous.isCompletedExceptionally()) {
+                return previous;
+            }
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return startService(device, config);
+                } catch (Exception e) {
+                    log.error("Failed to start the Appium server '{}': {}", serviceKeyOf(device), e.getMessage());
+                    throw new CompletionException(e);
+                }
+            }, serviceExecutor);
+        });
+    }
+
+    /**
+     * Returns the URI of the device's Appium server, Starting the server first if it isn't started yet (lazy start).
+     *
+     * @param device the leased device
+     * @param config the configuration loader providing Appium server path and IP address
+     * @return the server URI
+     * @throws IllegalStateException if the server fails to start
+     */
+    public URI getServiceUri(Device device, ConfigLoader config) {
+        try {
+            return startServiceAsync(device, config).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Appium server '" + serviceKeyOf(device) + "' failed to start.", e.getCause());
+        }
+    }
+
+    /**
+     * Starts the Appium server of a single device and blocks until it passes the readiness probe.
+     * <br>The server output goes to a per-device rolling file in {@code appiumLogDirectory} instead of the console,
+     * And the server is watched and restarted if it crashes.
+     *
+     * @param device the device whose {@code serverPort} the server listens on
+     * @param config the configuration loader providing Appium server path and IP address
+     * @return the server URI
+     * @throws Exception if the Appium service fails to start or isn't ready in time
+     */
+    private URI startService(Device device, ConfigLoader config) throws Exception {
+        long start = System.nanoTime();
+        String serviceKey = serviceKeyOf(device);
+        Duration startupTimeout = Duration.ofSeconds(intValueOf(config, "appiumStartupTimeoutSeconds", 120));
+        AppiumDriverLocalService service = new AppiumServiceBuilder()
+                .withAppiumJS(new File(config.getValue("appiumServerPath")))
+                .withIPAddress(config.getValue("appiumServerIPAddress"))
+                .usingPort(device.serverPort())
+                .withTimeout(startupTimeout)
+                .build();
+
+        OutputStream serverLog = new RollingLogOutputStream(
+                Path.of(Objects.requireNonNullElse(config.getValue("appiumLogDirectory"), "logs/appium"), serviceKey + ".log"),
+                intValueOf(config, "appiumLogMaxSizeMb", 10) * 1024L * 1024L,
+                intValueOf(config, "appiumLogBackups", 3));
+        service.clearOutPutStreams();                               // Keep the server output out of the console
+        service.addOutPutStream(serverLog);
+        OutputStream previousLog = serviceLogs.put(serviceKey, serverLog);
+        closeQuietly(previousLog);
+
+        log.info("Starting Appium server '{}' at '{}'.", serviceKey, service.getUrl());
+        URI serverUri = service.getUrl().toURI();
+        try {
             service.start();
-            runningServices.put(device.get("deviceName").toString(), service);
-            log.info("Starting an Appium server at '{}' for device '{}'.", service.getUrl(), device.get("deviceName"));
+            probeReadiness(serverUri, startupTimeout);
+        } catch (Exception e) {                                     // Not tracked yet, So stop it here or it's left running
+            log.error("Appium server '{}' failed to become ready, Stopping it: {}", serviceKey, e.getMessage());
+            service.stop();
+            serviceLogs.remove(serviceKey, serverLog);
+            closeQuietly(serverLog);
+            throw e;
         }
+        runningServices.put(serviceKey, service);
+        serviceOwners.put(serviceKey, device);
+        watchServices(config);
+        log.info("Appium server '{}' is ready in '{}' ms.", serviceKey,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return serverUri;
+    }
+
+    /**
+     * Polls the server's {@code /status} endpoint until it reports {@code "ready": true}.
+     *
+     * @throws IllegalStateException if the server isn't ready within the timeout
+     */
+    private void probeReadiness(URI serverUri, Duration timeout) throws InterruptedException {
+        HttpRequest statusRequest = HttpRequest.newBuilder(URI.create(serverUri.toString().replaceAll("/$", "") + "/status"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = statusClient.send(statusRequest, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().replace(" ", "").contains("\"ready\":true")) {
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("Appium server '{}' isn't reachable yet: {}", serverUri, e.getMessage());
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Appium server '" + serverUri + "' isn't ready within " + timeout.toSeconds() + " seconds.");
+    }
+
+    /**
+     * Schedules the watchdog restarting crashed servers, Once per manager.
+     */
+    private void watchServices(ConfigLoader config) {
+        if (!watchdogStarted.compareAndSet(false, true)) {
+            return;
+        }
+        int intervalSeconds = intValueOf(config, "appiumWatchdogIntervalSeconds", 10);
+        serviceWatchdog.scheduleWithFixedDelay(() -> {
+            for (Map.Entry<String, Device> owner : serviceOwners.entrySet()) {
+                String serviceKey = owner.getKey();
+                AppiumDriverLocalService service = runningServices.get(serviceKey);
+                if (stopping || service == null || service.isRunning()) {
+                    continue;
+                }
+                log.warn("Appium server '{}' crashed, Restarting it.", serviceKey);
+                runningServices.remove(serviceKey);
+                serviceRestarts.increment();
+                try {
+                    URI serverUri = startService(owner.getValue(), config);
+                    serviceStarts.put(serviceKey, CompletableFuture.completedFuture(serverUri));
+                } catch (Exception e) {
+                    log.error("Failed to restart the Appium server '{}': {}", serviceKey, e.getMessage());
+                    serviceStarts.put(serviceKey, CompletableFuture.failedFuture(e));
+                }
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
     }
 
     /**
      * Stops all running Appium services managed by this DevicesManager.
      */
     public void stopAllServices() {
+        stopping = true;
+        serviceWatchdog.shutdownNow();
+        recoveryProber.shutdownNow();
+        poolScaler.shutdownNow();
         for (AppiumDriverLocalService service : runningServices.values()) {
             if (service.isRunning()) {
                 service.stop();
                 log.info("Service '{}' is stopped successfully.", service.getUrl());
             }
         }
+        serviceLogs.values().forEach(DevicesManager::closeQuietly);
+        EmulatorLauncher launcher = emulatorLauncher;
+        if (launcher != null) {
+            for (Device device : devices) {
+                if (launchedDevices.remove(device.deviceName())) {
+                    try {
+                        launcher.shutdown(device);
+                        emulatorShutdowns.increment();
+                    } catch (Exception e) {
+                        log.error("Failed to shut down emulator '{}': {}", device.deviceName(), e.getMessage());
+                    }
+                }
+            }
+        }
+        if (serviceRestarts.sum() > 0) {
+            log.warn("Crashed Appium servers were restarted '{}' times during the run.", serviceRestarts.sum());
+        }
+    }
+
+    private static int intValueOf(ConfigLoader config, String key, int defaultValue) {
+        try {
+            String value = config.getValue(key);
+            return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+        } catch (Exception e) {
+            log.warn("Invalid value of '{}', '{}' will be used: {}", key, defaultValue, e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    private static ScheduledExecutorService daemonScheduler(String threadName) {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void closeQuietly(OutputStream stream) {
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the Appium server log: {}", e.getMessage());
+            }
+        }
     }
 }
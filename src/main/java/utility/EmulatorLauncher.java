@@ -0,0 +1,62 @@
+package utility;
+
+import datadriven.ConfigLoader;
+
+/**
+ * EmulatorLauncher boots and shuts down emulator instances for the elastic devices pool of {@link DevicesManager}.
+ * <br>Implementations must provide a public constructor taking a {@link ConfigLoader}, So the launcher
+ * can be selected by {@code emulatorLauncher} in Config.properties.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * EmulatorLauncher launcher = EmulatorLauncher.fromConfig(config);
+ * deviceManager.enableElasticPool(launcher, config);
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ * @see AvdEmulatorLauncher
+ */
+public interface EmulatorLauncher {
+
+    /**
+     * Boots a new emulator instance and blocks until it's ready for sessions.
+     * <br>The Appium server and session ports of the returned device are allocated by the pool, So they may be left 0/{@code null}.
+     *
+     * @return the booted device
+     * @throws Exception if the emulator fails to boot
+     */
+    Device launch() throws Exception;
+
+    /**
+     * Shuts down an emulator instance booted by {@link #launch()}.
+     *
+     * @param device the device returned by {@link #launch()}
+     * @throws Exception if the emulator fails to shut down
+     */
+    void shutdown(Device device) throws Exception;
+
+    /**
+     * @param requirement the traits a test requires
+     * @return {@code true} if the emulators booted by this launcher match the requirement
+     */
+    boolean canLaunch(DeviceRequirement requirement);
+
+    /**
+     * Creates the launcher named by {@code emulatorLauncher} in the configuration ({@link AvdEmulatorLauncher} by default).
+     *
+     * @param config the configuration loader, Passed to the launcher's constructor
+     * @return the launcher
+     * @throws Exception if the configuration can't be read or the launcher can't be created
+     */
+    static EmulatorLauncher fromConfig(ConfigLoader config) throws Exception {
+        String launcherClass = config.getValue("emulatorLauncher");
+        if (launcherClass == null || launcherClass.isEmpty()) {
+            return new AvdEmulatorLauncher(config);
+        }
+        return Class.forName(launcherClass)
+                .asSubclass(EmulatorLauncher.class)
+                .getConstructor(ConfigLoader.class)
+                .newInstance(config);
+    }
+}
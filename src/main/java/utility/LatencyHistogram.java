@@ -0,0 +1,138 @@
+package utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram is a lock-free, fixed-memory histogram of latencies with percentile queries.
+ * <br>Values are recorded in microseconds into log-linear buckets (16 linear sub-buckets per power of two),
+ * So every reported percentile is within ~6% of the real value regardless of the magnitude.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Safe to record into from many threads without locking.</li>
+ *   <li>Constant memory, independent of the number of recorded values.</li>
+ *   <li>Reports count, mean, max and p50/p90/p95/p99 in milliseconds.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * histogram.record(System.nanoTime() - start);
+ * double p95 = histogram.percentileMillis(95);
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_POWER = 40;                        // 2^40 micros (about 12.7 days), Larger values are clamped
+
+    private final AtomicLongArray buckets = new AtomicLongArray((MAX_POWER - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        buckets.incrementAndGet(bucketIndex(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the total of all recorded latencies in milliseconds
+     */
+    public double getTotalMillis() {
+        return totalMicros.sum() / 1000.0;
+    }
+
+    /**
+     * Returns the latency below which the given percentage of the recorded latencies fall.
+     *
+     * @param percentile the percentile (0-100)
+     * @return the percentile latency in milliseconds, or 0 if nothing is recorded
+     */
+    public double percentileMillis(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * @return count, total, mean, max and p50/p90/p95/p99 (milliseconds) as an ordered map, Ready for JSON serialization
+     */
+    public Map<String, Object> summary() {
+        long total = count.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", total);
+        summary.put("totalMs", round(getTotalMillis()));
+        summary.put("meanMs", round(total == 0 ? 0 : getTotalMillis() / total));
+        summary.put("p50Ms", round(percentileMillis(50)));
+        summary.put("p90Ms", round(percentileMillis(90)));
+        summary.put("p95Ms", round(percentileMillis(95)));
+        summary.put("p99Ms", round(percentileMillis(99)));
+        summary.put("maxMs", round(maxMicros.get() / 1000.0));
+        return summary;
+    }
+
+    @Override
+    public String toString() {
+        Map<String, Object> summary = summary();
+        return String.format("count: %s, total: %s ms, p50: %s ms, p95: %s ms, p99: %s ms, max: %s ms",
+                summary.get("count"), summary.get("totalMs"), summary.get("p50Ms"), summary.get("p95Ms"),
+                summary.get("p99Ms"), summary.get("maxMs"));
+    }
+
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int power = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_POWER);
+        long subBucket = power == MAX_POWER ? SUB_BUCKETS - 1 : (micros >>> (power - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (power - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + (int) subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int power = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (power - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
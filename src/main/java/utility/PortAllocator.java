@@ -0,0 +1,166 @@
+package utility;
+
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * PortAllocator hands out free local ports from configurable ranges, One range per port kind
+ * (Appium server, UiAutomator2 system port, chromedriver, webview devtools, MJPEG stream).
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Never hands out the same port twice within the run.</li>
+ *   <li>Verifies each port is bindable before handing it out, So ports used by other processes are skipped.</li>
+ *   <li>With a {@link CrossProcessLeaseTable}, Reserves each port as {@code port:<n>} for the rest of the run, So suite processes
+ *   on one host never hand out the same port, Even though the port is only bound later (e.g., when a session starts).</li>
+ *   <li>Starts scanning each range at a random offset, So parallel suite processes on one host rarely race for the same port.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * PortAllocator allocator = PortAllocator.fromConfig(config);
+ * int systemPort = allocator.allocate("systemPort");
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class PortAllocator {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+
+    /**
+     * Port kinds and their default ranges, Overridden by {@code <kind>Range} in Config.properties (e.g., systemPortRange=8200-8299).
+     */
+    private static final Map<String, PortRange> DEFAULT_RANGES = Map.of(
+            "serverPort", new PortRange(4723, 4822),
+            "systemPort", new PortRange(8200, 8299),
+            "chromedriverPort", new PortRange(9520, 9619),
+            "webviewDevtoolsPort", new PortRange(9223, 9322),
+            "mjpegServerPort", new PortRange(7810, 7909));
+
+    private final Map<String, PortRange> ranges;
+    private final Set<Integer> allocatedPorts = ConcurrentHashMap.newKeySet();
+    private volatile CrossProcessLeaseTable sharedReservations;
+
+    /**
+     * An inclusive range of ports.
+     */
+    record PortRange(int from, int to) {
+
+        PortRange {
+            if (from < 1 || to > 65535 || from > to) {
+                throw new IllegalArgumentException("Invalid port range: " + from + "-" + to);
+            }
+        }
+
+        /**
+         * @param range the range as "from-to" (e.g., "8200-8299")
+         */
+        static PortRange parse(String range) {
+            String[] bounds = range.split("-");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Port range must be 'from-to', But it was: " + range);
+            }
+            return new PortRange(Integer.parseInt(bounds[0].trim()), Integer.parseInt(bounds[1].trim()));
+        }
+
+        int size() {
+            return to - from + 1;
+        }
+    }
+
+    PortAllocator(Map<String, PortRange> ranges) {
+        this.ranges = Map.copyOf(ranges);
+    }
+
+    /**
+     * Creates an allocator with the default ranges, Overridden by any {@code <kind>Range} key in the configuration.
+     *
+     * @param config the configuration loader
+     * @return the allocator
+     * @throws Exception if the configuration can't be read or a range is invalid
+     */
+    public static PortAllocator fromConfig(ConfigLoader config) throws Exception {
+        Map<String, PortRange> ranges = new ConcurrentHashMap<>(DEFAULT_RANGES);
+        for (String kind : DEFAULT_RANGES.keySet()) {
+            String range = config.getValue(kind + "Range");
+            if (range != null && !range.isEmpty()) {
+                ranges.put(kind, PortRange.parse(range));
+            }
+        }
+        log.info("Port allocator ranges: '{}'.", ranges);
+        return new PortAllocator(ranges);
+    }
+
+    /**
+     * Reserves the allocated ports in the lease table shared with the other processes on the host, Instead of this JVM only.
+     * <br>The reservations are held until the process exits, And reclaimed by the table if it dies.
+     *
+     * @param table the lease table shared by the processes
+     */
+    public void useSharedReservations(CrossProcessLeaseTable table) {
+        this.sharedReservations = table;
+        log.info("Allocated ports will be reserved across processes.");
+    }
+
+    /**
+     * Allocates a free port of the given kind for the rest of the run.
+     *
+     * @param kind the port kind (e.g., "serverPort", "systemPort", "chromedriverPort")
+     * @return a port that is bindable now and wasn't handed out before (by any process sharing the reservations)
+     * @throws IllegalArgumentException if the kind is unknown
+     * @throws IllegalStateException    if no port of the range is free, Or the shared lease table is full
+     */
+    public int allocate(String kind) {
+        PortRange range = ranges.get(kind);
+        if (range == null) {
+            throw new IllegalArgumentException("Unknown port kind: " + kind + ", Supported kinds are: " + ranges.keySet());
+        }
+        int offset = ThreadLocalRandom.current().nextInt(range.size());
+        for (int i = 0; i < range.size(); i++) {
+            int port = range.from() + (offset + i) % range.size();
+            if (isBindable(port) && allocatedPorts.add(port) && reserve(port)) {
+                log.debug("Allocated '{}' port '{}'.", kind, port);
+                return port;
+            }
+        }
+        log.error("No free '{}' port in range '{}'.", kind, range);
+        throw new IllegalStateException("No free " + kind + " in range " + range.from() + "-" + range.to());
+    }
+
+    /**
+     * @return {@code true} if the port is reserved for this process, Or no reservations are shared
+     */
+    private boolean reserve(int port) {
+        CrossProcessLeaseTable table = sharedReservations;
+        return table == null || table.tryLease("port:" + port);   // A port reserved elsewhere stays skipped in this run
+    }
+
+    /**
+     * Checks whether the port can be bound on all local interfaces right now.
+     *
+     * @param port the port to check
+     * @return {@code true} if no other socket is bound to the port
+     */
+    static boolean isBindable(int port) {
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.setReuseAddress(false);
+            socket.bind(new InetSocketAddress(port));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package utility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the device traits a test method (or every test of a class) needs.
+ * <br>The devices pool only leases devices matching all the declared traits (see {@link DeviceRequirement}),
+ * A method annotation overrides the class annotation.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * @RequiresDevice(formFactor = "tablet", minApiLevel = 33)
+ * @Test
+ * public void TC9_productGridShowsTwoColumnsOnTablets() { ... }
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresDevice {
+
+    /**
+     * @return the required form factor (e.g., "phone", "tablet", "foldable"), Empty for any
+     */
+    String formFactor() default "";
+
+    /**
+     * @return the minimum Android API level, 0 for any
+     */
+    int minApiLevel() default 0;
+
+    /**
+     * @return the maximum Android API level
+     */
+    int maxApiLevel() default Integer.MAX_VALUE;
+
+    /**
+     * @return a regular expression the device name must fully match, Empty for any
+     */
+    String deviceNamePattern() default "";
+}
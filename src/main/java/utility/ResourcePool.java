@@ -0,0 +1,569 @@
+package utility;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * ResourcePool is a fair, thread-safe pool of exclusive resources (devices, users, etc.) leased with timeouts.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Leases resources matching a requirement, Preferring the free resources matching a preference (e.g., warm state).</li>
+ *   <li>Serves waiting threads in arrival order, A returned resource is handed directly to the first waiter it matches,
+ *   Waking that waiter only.</li>
+ *   <li>Validates resources on borrow, Evicting the invalid ones.</li>
+ *   <li>Evicts resources on demand (also while leased) or after being idle, And accepts new resources at any time.</li>
+ *   <li>Records leases, queue wait, lease duration and utilization per resource with lock-free counters.</li>
+ *   <li>Optionally coordinates leases with other JVMs on the host through a {@link CrossProcessLeaseTable}.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * ResourcePool<String> users = new ResourcePool<>("user", user -> user);
+ * users.addAll(List.of("user1", "user2"));
+ * try (ResourcePool.Lease<String> lease = users.acquire(Duration.ofMinutes(5))) {
+ *     String user = lease.resource();
+ * }
+ * }</pre>
+ *
+ * @param <T> the resource type
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class ResourcePool<T> {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+
+    private final String name;
+    private final Function<? super T, String> keyOf;
+    private final List<T> members = new CopyOnWriteArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final List<T> free = new ArrayList<>();                             // Guarded by lock
+    private final Deque<Waiter<T>> waiters = new ArrayDeque<>();                // Guarded by lock
+    private final Map<String, Long> idleSinceNanos = new HashMap<>();           // Guarded by lock
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private volatile Predicate<? super T> validator = resource -> true;
+    private volatile Runnable shortageListener = () -> { };
+    private volatile CrossProcessLeaseTable sharedLeases;
+    private static final long SHARED_LEASE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * A thread waiting for a resource matching its requirement.
+     */
+    private static final class Waiter<T> {
+        private final Predicate<? super T> requirement;
+        private final Condition assigned;
+        private T resource;
+
+        private Waiter(Predicate<? super T> requirement, Condition assigned) {
+            this.requirement = requirement;
+            this.assigned = assigned;
+        }
+    }
+
+    /**
+     * Lease counters of one resource, Updated without locking.
+     */
+    private static final class Statistics {
+        private final long addedAtNanos = System.nanoTime();
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final LongAdder totalLeasedNanos = new LongAdder();
+    }
+
+    /**
+     * Lease metrics of one resource.
+     *
+     * @param leases         the number of leases
+     * @param avgWaitMillis  the average queue wait before the resource was leased
+     * @param maxWaitMillis  the maximum queue wait before the resource was leased
+     * @param leasedMillis   the total lease duration
+     * @param utilization    the leased time / time since the resource joined the pool (0-1)
+     */
+    public record LeaseMetrics(long leases, long avgWaitMillis, long maxWaitMillis, long leasedMillis, double utilization) {
+    }
+
+    /**
+     * Exclusive use of a pooled resource until it's closed, Closing it again has no effect.
+     *
+     * @param <T> the resource type
+     */
+    public static final class Lease<T> implements AutoCloseable {
+
+        private final ResourcePool<T> pool;
+        private final T resource;
+        private final long waitedNanos;
+        private final long acquiredAtNanos = System.nanoTime();
+        private boolean closed;
+
+        private Lease(ResourcePool<T> pool, T resource, long waitedNanos) {
+            this.pool = pool;
+            this.resource = resource;
+            this.waitedNanos = waitedNanos;
+        }
+
+        /**
+         * @return the leased resource
+         */
+        public T resource() {
+            return resource;
+        }
+
+        /**
+         * @return the time waited for the resource, In nanoseconds
+         */
+        public long waitedNanos() {
+            return waitedNanos;
+        }
+
+        /**
+         * @return the time the lease was acquired at, In {@link System#nanoTime()} units
+         */
+        public long acquiredAtNanos() {
+            return acquiredAtNanos;
+        }
+
+        /**
+         * Returns the resource to the pool, Unless it was evicted while leased.
+         */
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                pool.returnResource(this);
+            }
+        }
+    }
+
+    /**
+     * @param name  the resource name used in logs and errors (e.g., "device", "user")
+     * @param keyOf the unique key of a resource, Its metrics are kept under it
+     */
+    public ResourcePool(String name, Function<? super T, String> keyOf) {
+        this.name = name;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Sets the check run on every resource before it's leased, Resources failing it are evicted.
+     * <br>Runs outside the pool lock, So slow checks don't block other threads.
+     *
+     * @param validator the check
+     */
+    public void setValidator(Predicate<? super T> validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Sets the listener notified (while holding the pool lock, So it must not block) once each time a thread starts waiting.
+     *
+     * @param shortageListener the listener
+     */
+    public void setShortageListener(Runnable shortageListener) {
+        this.shortageListener = shortageListener;
+    }
+
+    /**
+     * Makes every lease also lease the resource in the cross-process table (under {@code <name>:<key>}), So other JVMs
+     * sharing the table don't lease it at the same time.
+     * <br>Resources held by other processes are skipped, And waiting threads recheck them periodically
+     * since other processes can't wake them.
+     *
+     * @param sharedLeases the table shared with the other processes
+     */
+    public void setSharedLeases(CrossProcessLeaseTable sharedLeases) {
+        this.sharedLeases = sharedLeases;
+    }
+
+    /**
+     * Adds a resource to the pool and hands it to the first waiter it matches, Adding it again has no effect.
+     *
+     * @param resource the resource
+     */
+    public void add(T resource) {
+        if (members.contains(resource)) {
+            return;
+        }
+        statistics.computeIfAbsent(keyOf.apply(resource), key -> new Statistics());
+        members.add(resource);
+        lock.lock();
+        try {
+            handOff(resource);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the resources to the pool.
+     *
+     * @param resources the resources
+     */
+    public void addAll(List<T> resources) {
+        resources.forEach(this::add);
+    }
+
+    /**
+     * Removes a resource from the pool, If it's leased it's dropped once its lease is closed.
+     *
+     * @param resource the resource
+     * @return {@code true} if the resource was in the pool
+     */
+    public boolean evict(T resource) {
+        if (!members.remove(resource)) {
+            return false;
+        }
+        lock.lock();
+        try {
+            free.remove(resource);
+            idleSinceNanos.remove(keyOf.apply(resource));
+        } finally {
+            lock.unlock();
+        }
+        evictions.increment();
+        log.info("Evicted {} '{}' from the pool.", name, keyOf.apply(resource));
+        return true;
+    }
+
+    /**
+     * Evicts free resources idle for at least the given time, Only while no thread is waiting.
+     *
+     * @param candidate the resources that may be evicted
+     * @param idle      the minimum idle time
+     * @param max       the maximum number of resources to evict
+     * @return the evicted resources
+     */
+    public List<T> evictIdle(Predicate<? super T> candidate, Duration idle, int max) {
+        List<T> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            if (!waiters.isEmpty()) {
+                return evicted;
+            }
+            long now = System.nanoTime();
+            for (Iterator<T> iterator = free.iterator(); iterator.hasNext() && evicted.size() < max; ) {
+                T resource = iterator.next();
+                String key = keyOf.apply(resource);
+                if (candidate.test(resource) && now - idleSinceNanos.getOrDefault(key, now) >= idle.toNanos()) {
+                    iterator.remove();
+                    idleSinceNanos.remove(key);
+                    members.remove(resource);
+                    evicted.add(resource);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        evictions.add(evicted.size());
+        return evicted;
+    }
+
+    /**
+     * Leases any resource, Waiting up to the given timeout if all resources are in use.
+     *
+     * @param timeout the maximum time to wait for a free resource
+     * @return the lease, To be closed when done
+     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws IllegalStateException if no resource becomes free within the timeout
+     */
+    public Lease<T> acquire(Duration timeout) throws InterruptedException {
+        return acquire(resource -> true, null, timeout);
+    }
+
+    /**
+     * Leases a resource matching the requirement, Waiting up to the given timeout if all matching resources are in use.
+     * <br>Among the free matching resources, The first one matching the preference is leased.
+     *
+     * @param requirement the resources that may be leased
+     * @param preference  the resources to prefer, May be null
+     * @param timeout     the maximum time to wait for a matching resource
+     * @return the lease, To be closed when done
+     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws IllegalStateException if no matching resource becomes free within the timeout
+     */
+    public Lease<T> acquire(Predicate<? super T> requirement, Predicate<? super T> preference, Duration timeout)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadlineNanos = start + timeout.toNanos();
+        Waiter<T> waiter = null;
+        while (true) {
+            T resource;
+            lock.lock();
+            try {
+                resource = takeFree(requirement, preference);
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (resource == null && remainingNanos > 0) {
+                    if (waiter == null) {
+                        waiter = new Waiter<>(requirement, lock.newCondition());
+                        log.info("No free {} matches '{}', Waiting up to '{}' seconds...", name, requirement,
+                                TimeUnit.NANOSECONDS.toSeconds(remainingNanos));
+                        waiters.addLast(waiter);
+                        shortageListener.run();
+                    } else {
+                        waiter.resource = null;
+                        waiters.addFirst(waiter);               // Its hand-off was lost or invalid, So it keeps its turn
+                    }
+                    resource = awaitResource(waiter, deadlineNanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (resource == null) {
+                timeouts.increment();
+                log.error("No {} matching '{}' became free within '{}' seconds.", name, requirement, timeout.toSeconds());
+                throw new IllegalStateException("Timed out waiting for a free " + name + " after " + timeout.toSeconds() + " seconds.");
+            }
+            if (sharedLeases != null && !sharedLeases.tryLease(sharedKeyOf(resource))) {
+                lock.lock();
+                try {
+                    handOff(resource);                          // Leased by another process in the meantime
+                } finally {
+                    lock.unlock();
+                }
+                continue;
+            }
+            if (isValid(resource)) {
+                long waitedNanos = System.nanoTime() - start;
+                Statistics resourceStatistics = statistics.get(keyOf.apply(resource));
+                resourceStatistics.leases.increment();
+                resourceStatistics.totalWaitNanos.add(waitedNanos);
+                resourceStatistics.maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+                return new Lease<>(this, resource, waitedNanos);
+            }
+            validationFailures.increment();
+            log.warn("{} '{}' failed validation on borrow, Evicting it.", name, keyOf.apply(resource));
+            evict(resource);
+            releaseSharedLease(resource);
+        }
+    }
+
+    /**
+     * @return all resources of the pool, Whether they are leased or not
+     */
+    public List<T> getResources() {
+        return List.copyOf(members);
+    }
+
+    /**
+     * @return the resources that are free right now
+     */
+    public List<T> getFreeResources() {
+        lock.lock();
+        try {
+            return List.copyOf(free);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the requirements of the threads waiting right now, In arrival order
+     */
+    public List<Predicate<? super T>> getPendingRequirements() {
+        lock.lock();
+        try {
+            return waiters.stream().<Predicate<? super T>>map(waiter -> waiter.requirement).toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the lease metrics per resource key, Including evicted resources
+     */
+    public Map<String, LeaseMetrics> getLeaseMetrics() {
+        long now = System.nanoTime();
+        Map<String, LeaseMetrics> metrics = new TreeMap<>();
+        statistics.forEach((key, resourceStatistics) -> {
+            long leases = resourceStatistics.leases.sum();
+            long leasedNanos = resourceStatistics.totalLeasedNanos.sum();
+            metrics.put(key, new LeaseMetrics(leases,
+                    leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(resourceStatistics.totalWaitNanos.sum() / leases),
+                    TimeUnit.NANOSECONDS.toMillis(resourceStatistics.maxWaitNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(leasedNanos),
+                    (double) leasedNanos / Math.max(1, now - resourceStatistics.addedAtNanos)));
+        });
+        return metrics;
+    }
+
+    /**
+     * @return the number of acquisitions that timed out
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * @return the number of evicted resources
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of resources that failed validation on borrow
+     */
+    public long getValidationFailures() {
+        return validationFailures.sum();
+    }
+
+    private boolean isValid(T resource) {
+        try {
+            return validator.test(resource);
+        } catch (RuntimeException e) {
+            log.warn("Failed to validate {} '{}': {}", name, keyOf.apply(resource), e.getMessage());
+            return false;
+        }
+    }
+
+    private void returnResource(Lease<T> lease) {
+        T resource = lease.resource();
+        statistics.get(keyOf.apply(resource)).totalLeasedNanos.add(System.nanoTime() - lease.acquiredAtNanos());
+        releaseSharedLease(resource);
+        lock.lock();
+        try {
+            handOff(resource);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSharedLease(T resource) {
+        CrossProcessLeaseTable table = sharedLeases;
+        if (table != null) {
+            table.release(sharedKeyOf(resource));
+        }
+    }
+
+    private String sharedKeyOf(T resource) {
+        return name + ":" + keyOf.apply(resource);
+    }
+
+    /**
+     * @return {@code true} if a process holds the resource in the shared table, Checked without locking the table
+     */
+    private boolean isSharedLeaseHeld(T resource) {
+        CrossProcessLeaseTable table = sharedLeases;
+        return table != null && table.isLeased(sharedKeyOf(resource));
+    }
+
+    /**
+     * Takes the free resource matching the requirement, Preferring the first one matching the preference.
+     * <br>Must be called while holding the pool lock.
+     *
+     * @return the resource, or {@code null} if no free resource matches
+     */
+    private T takeFree(Predicate<? super T> requirement, Predicate<? super T> preference) {
+        T match = null;
+        for (T resource : free) {
+            if (requirement.test(resource) && !isSharedLeaseHeld(resource)) {
+                if (preference != null && preference.test(resource)) {
+                    match = resource;
+                    break;
+                }
+                if (match == null) {
+                    match = resource;
+                }
+            }
+        }
+        if (match != null) {
+            free.remove(match);
+        }
+        return match;
+    }
+
+    /**
+     * Waits until a resource is handed to the queued waiter or the deadline passes.
+     * <br>With shared leases, The waiter stays queued and rechecks the shared table every poll interval,
+     * So resources released by other processes are still handed out in arrival order.
+     * <br>Must be called while holding the pool lock.
+     *
+     * @return the handed resource, or {@code null} on timeout
+     */
+    private T awaitResource(Waiter<T> waiter, long deadlineNanos) throws InterruptedException {
+        try {
+            long remainingNanos;
+            while (waiter.resource == null && (remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+                waiter.assigned.awaitNanos(sharedLeases == null ? remainingNanos : Math.min(remainingNanos, SHARED_LEASE_POLL_NANOS));
+                if (waiter.resource == null && sharedLeases != null) {
+                    handOffSharedReleases();
+                }
+            }
+        } catch (InterruptedException e) {
+            waiters.remove(waiter);
+            if (waiter.resource != null) {
+                handOff(waiter.resource);                       // Don't lose a resource handed right before the interrupt
+            }
+            throw e;
+        }
+        waiters.remove(waiter);
+        return waiter.resource;
+    }
+
+    /**
+     * Hands the resource to the first waiter it matches, Or returns it to the free resources.
+     * <br>Resources evicted while leased are dropped, And resources held in the shared table are kept free for the waiters' rechecks.
+     * <br>Must be called while holding the pool lock.
+     */
+    private void handOff(T resource) {
+        if (!members.contains(resource)) {
+            return;
+        }
+        if (!isSharedLeaseHeld(resource) && assignToFirstWaiter(resource)) {
+            return;
+        }
+        free.add(resource);
+        idleSinceNanos.put(keyOf.apply(resource), System.nanoTime());
+    }
+
+    /**
+     * Hands the free resources that other processes released in the shared table to the first waiters they match.
+     * <br>Must be called while holding the pool lock.
+     */
+    private void handOffSharedReleases() {
+        for (Iterator<T> iterator = free.iterator(); iterator.hasNext(); ) {
+            T resource = iterator.next();
+            if (!isSharedLeaseHeld(resource) && assignToFirstWaiter(resource)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean assignToFirstWaiter(T resource) {
+        for (Iterator<Waiter<T>> iterator = waiters.iterator(); iterator.hasNext(); ) {
+            Waiter<T> waiter = iterator.next();
+            if (waiter.requirement.test(resource)) {
+                iterator.remove();
+                waiter.resource = resource;
+                waiter.assigned.signal();
+                return true;
+            }
+        }
+        return false;
+    }
+}
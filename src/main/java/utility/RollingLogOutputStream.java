@@ -0,0 +1,93 @@
+package utility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * RollingLogOutputStream writes to a log file and rolls it once it reaches a maximum size,
+ * Keeping a fixed number of backups ({@code name.log.1} is the newest backup).
+ * <br>Used to capture the stdout/stderr of each device's Appium server into its own file.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+final class RollingLogOutputStream extends OutputStream {
+
+    private final Path file;
+    private final long maxBytes;
+    private final int backups;
+    private OutputStream output;
+    private long writtenBytes;
+
+    /**
+     * @param file     the log file, Appended to if it already exists
+     * @param maxBytes the size at which the file is rolled
+     * @param backups  the number of rolled files to keep
+     * @throws IOException if the file can't be opened
+     */
+    RollingLogOutputStream(Path file, long maxBytes, int backups) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.backups = backups;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        open();
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        rollIfNeeded(1);
+        output.write(b);
+        writtenBytes++;
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+        rollIfNeeded(length);
+        output.write(bytes, offset, length);
+        writtenBytes += length;
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        output.close();
+    }
+
+    private void open() throws IOException {
+        output = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writtenBytes = Files.size(file);
+    }
+
+    private void rollIfNeeded(int nextWrite) throws IOException {
+        if (writtenBytes == 0 || writtenBytes + nextWrite <= maxBytes) {
+            return;
+        }
+        output.close();
+        for (int i = backups - 1; i >= 1; i--) {
+            Path backup = backupOf(i);
+            if (Files.exists(backup)) {
+                Files.move(backup, backupOf(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (backups > 0) {
+            Files.move(file, backupOf(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path backupOf(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
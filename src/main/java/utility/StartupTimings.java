@@ -0,0 +1,162 @@
+package utility;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * StartupTimings records how long each phase of a driver startup takes (options build, driver launch,
+ * session creation, first command, etc.) for a single browser or device session.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Phases are measured back-to-back, Starting a phase ends the previous one.</li>
+ *   <li>Finished timings are aggregated per target (browser profile or device) and phase as run-wide metrics.</li>
+ *   <li>The finished timings of a thread can be consumed to attach them to the test that triggered the startups.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * StartupTimings timings = StartupTimings.start("chrome");
+ * timings.phase("optionsBuild");
+ * // ... build options ...
+ * timings.phase("driverLaunch");
+ * // ... launch the driver ...
+ * timings.finish();
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class StartupTimings {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final ThreadLocal<List<StartupTimings>> finishedTimings = ThreadLocal.withInitial(ArrayList::new);
+    private static final Map<String, Map<String, PhaseStatistics>> metrics = new ConcurrentHashMap<>();
+
+    private final String target;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private String currentPhase;
+    private long currentPhaseStartNanos;
+    private long totalNanos;
+
+    /**
+     * Aggregated durations of one phase of one target.
+     */
+    private static final class PhaseStatistics {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("count: %d, avg: %d ms, max: %d ms", count,
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos / Math.max(count, 1)), TimeUnit.NANOSECONDS.toMillis(maxNanos));
+        }
+    }
+
+    private StartupTimings(String target) {
+        this.target = target;
+    }
+
+    /**
+     * Starts measuring the startup of a session.
+     *
+     * @param target the browser profile or device the session belongs to
+     * @return a new timings instance without any started phase
+     */
+    public static StartupTimings start(String target) {
+        return new StartupTimings(target);
+    }
+
+    /**
+     * Ends the current phase (if any) and starts measuring a new one.
+     *
+     * @param phaseName the name of the phase (e.g., "optionsBuild", "sessionCreate")
+     */
+    public void phase(String phaseName) {
+        long now = System.nanoTime();
+        endCurrentPhase(now);
+        currentPhase = phaseName;
+        currentPhaseStartNanos = now;
+    }
+
+    /**
+     * Ends the current phase, adds all phases to the run-wide metrics and adds these timings
+     * to the finished timings of the current thread.
+     */
+    public void finish() {
+        long now = System.nanoTime();
+        endCurrentPhase(now);
+        totalNanos = now - startNanos;
+        Map<String, PhaseStatistics> targetMetrics = metrics.computeIfAbsent(target, key -> new ConcurrentHashMap<>());
+        phases.forEach((phase, nanos) -> targetMetrics.computeIfAbsent(phase, key -> new PhaseStatistics()).add(nanos));
+        targetMetrics.computeIfAbsent("total", key -> new PhaseStatistics()).add(totalNanos);
+        bindToCurrentThread();
+        log.info("Startup timings: {}", this);
+    }
+
+    /**
+     * Adds these timings to the finished timings of the current thread,
+     * Used when a session started on another thread is handed over to the current one.
+     */
+    public void bindToCurrentThread() {
+        finishedTimings.get().add(this);
+    }
+
+    /**
+     * Returns and clears the finished timings of the current thread.
+     *
+     * @return the timings in finishing order, Empty if nothing was measured on this thread since the last call
+     */
+    public static List<StartupTimings> consumeAll() {
+        List<StartupTimings> timings = List.copyOf(finishedTimings.get());
+        finishedTimings.remove();
+        return timings;
+    }
+
+    /**
+     * @return a report of the aggregated phase durations per target for the whole run
+     */
+    public static String getMetricsReport() {
+        StringJoiner report = new StringJoiner("\n", "Startup timing metrics:\n", "");
+        new TreeMap<>(metrics).forEach((target, phaseMetrics) ->
+                phaseMetrics.forEach((phase, statistics) -> report.add(target + " | " + phase + " | " + statistics)));
+        return report.toString();
+    }
+
+    private void endCurrentPhase(long now) {
+        if (currentPhase != null) {
+            phases.merge(currentPhase, now - currentPhaseStartNanos, Long::sum);
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * @return a compact breakdown, e.g. "chrome[headless]: optionsBuild=15ms, driverLaunch=2310ms, total=2380ms"
+     */
+    @Override
+    public String toString() {
+        StringJoiner breakdown = new StringJoiner(", ", target + ": ", "");
+        phases.forEach((phase, nanos) -> breakdown.add(phase + "=" + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms"));
+        breakdown.add("total=" + TimeUnit.NANOSECONDS.toMillis(totalNanos) + "ms");
+        return breakdown.toString();
+    }
+}
@@ -3,9 +3,11 @@ package utility;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.Collections;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -17,8 +19,8 @@ import static java.lang.invoke.MethodHandles.lookup;
  * <br>It ensures that each thread gets a unique user and waits if none are available.
  * </p>
  * <p>
- * Internally, it uses a {@link ConcurrentLinkedQueue} to store available users,
- * and synchronization to manage blocking behavior and thread safety.
+ * Internally, it leases users from a fair {@link ResourcePool}, So waiting threads are served in arrival order
+ * and lease metrics are recorded per user.
  * </p>
  *
  *  <br>@author Hossam Atef
@@ -27,7 +29,8 @@ import static java.lang.invoke.MethodHandles.lookup;
  */
 public class UsersManager {
 
-    private final Queue<String> availableUsers = new ConcurrentLinkedQueue<>();
+    private final ResourcePool<String> availableUsers = new ResourcePool<>("user", user -> user);
+    private final Map<String, ResourcePool.Lease<String>> leases = new ConcurrentHashMap<>();
     private boolean initialized = false;
     private static final Logger log = LogManager.getLogger(lookup().lookupClass());
 
@@ -35,51 +38,81 @@ public class UsersManager {
      * Initializes the user pool with the given array of user identifiers.
      * <br>This method is synchronized to prevent multiple initializations in concurrent scenarios.
      *
-     * @param users an array of user IDs to populate the queue
+     * @param users an array of user IDs to populate the pool
      */
     public synchronized void initialize(String[] users) {
         if (!initialized) {
-            Collections.addAll(availableUsers, users);
-            log.info("A Queue is initialized with '{}' users.", String.join(", ", users));
+            availableUsers.addAll(Arrays.asList(users));
+            log.info("A pool is initialized with '{}' users.", String.join(", ", users));
             initialized = true;
         }
     }
 
-    public synchronized boolean printAvailableUsers() {
-        System.out.println("Available users: " + availableUsers);
-        return false;
+    /**
+     * Coordinates user leases with the other JVMs on the host through a memory-mapped lease table,
+     * So no user is leased by two processes at once.
+     *
+     * @param leaseFile the lease table file shared by the processes
+     * @see CrossProcessLeaseTable
+     */
+    public void useCrossProcessLeases(Path leaseFile) {
+        availableUsers.setSharedLeases(CrossProcessLeaseTable.open(leaseFile));
+        log.info("Users are leased across processes through '{}'.", leaseFile);
+    }
+
+    /**
+     * Logs all currently available users in the pool.
+     */
+    public void printAvailableUsers() {
+        log.info("Available users: {}", availableUsers.getFreeResources());
+    }
+
+    /**
+     * Leases a user from the pool, Waiting up to the given timeout if all users are in use.
+     *
+     * @param timeout the maximum time to wait for a free user
+     * @return the lease of the user, To be closed when done
+     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws IllegalStateException if no user becomes free within the timeout
+     */
+    public ResourcePool.Lease<String> acquire(Duration timeout) throws InterruptedException {
+        return availableUsers.acquire(timeout);
     }
 
     /**
      * Acquires a user from the pool.
      * <p>
      * If no users are available, the calling thread will block until one is released.
-     * <br>This method is synchronized to ensure safe access to the shared queue and proper use of {@code wait()}.
      * </p>
      *
      * @return a user ID from the pool
      * @throws InterruptedException if the thread is interrupted while waiting
      */
-    public synchronized String acquireUser() throws InterruptedException {
-
-        while (availableUsers.isEmpty()) {
-            log.info("waiting a user to be released");
-            wait(); // Wait until a user is released
-        }
-        return availableUsers.poll();
+    public String acquireUser() throws InterruptedException {
+        ResourcePool.Lease<String> lease = availableUsers.acquire(Duration.ofNanos(Long.MAX_VALUE));
+        leases.put(lease.resource(), lease);
+        return lease.resource();
     }
 
     /**
-     * Releases a user back into the pool and notifies any waiting threads.
-     * <br>This method is synchronized to ensure safe modification of the queue and proper use of {@code notifyAll()}.
+     * Releases a user back into the pool, Handing it to the first waiting thread if any.
      *
      * @param user the user ID to release back into the pool
      */
-    public synchronized void releaseUser(String user) {
-        availableUsers.offer(user);
+    public void releaseUser(String user) {
+        ResourcePool.Lease<String> lease = leases.remove(user);
+        if (lease == null) {
+            log.warn("User '{}' isn't acquired, Nothing to release.", user);
+            return;
+        }
+        lease.close();
         log.info("User '{}' is released.", user);
-        notifyAll(); // Notify waiting threads for a released user
     }
 
-
+    /**
+     * @return the lease metrics of every user (see {@link ResourcePool#getLeaseMetrics()})
+     */
+    public Map<String, ResourcePool.LeaseMetrics> getLeaseMetrics() {
+        return availableUsers.getLeaseMetrics();
+    }
 }
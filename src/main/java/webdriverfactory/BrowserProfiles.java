@@ -0,0 +1,150 @@
+package webdriverfactory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * BrowserProfiles is a registry of compiled browser option templates.
+ * <br>A (browser, modes, preferences) tuple is compiled once into an options template that is never handed out,
+ * Callers receive a fresh copy of it keyed by the profile id instead.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Reads Config.properties, normalizes modes and resolves mode aliases only on the first compile of a profile.</li>
+ *   <li>Returns the same profile id for the same browser and modes, regardless of mode order, case or spaces.</li>
+ *   <li>Hands out independent copies so pooled, retried and regular launches get identical browsers.</li>
+ * </ul>
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * String profileId = BrowserProfiles.compile("chrome", "headless", "incognito");
+ * ChromeOptions options = (ChromeOptions) BrowserProfiles.newOptions(profileId);
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+final class BrowserProfiles {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final Map<String, String> profileIdsByRequest = new ConcurrentHashMap<>();
+    private static final Map<String, Profile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * A compiled options template and the browser it belongs to.
+     */
+    private record Profile(GetWebDriver.browsers browser, MutableCapabilities template) {
+    }
+
+    private BrowserProfiles() {
+        // Utility class: prevent instantiation
+    }
+
+    /**
+     * Compiles the options of a browser and modes combination if it's not compiled yet.
+     *
+     * @param browserName the browser name (e.g., "chrome", "firefox", "edge")
+     * @param modes       optional browser modes (e.g., "headless", "incognito", etc.)
+     * @return the profile id to be used with {@link #newOptions(String)}
+     * @throws IllegalArgumentException if an unknown browser is specified
+     */
+    static String compile(String browserName, String... modes) throws Exception {
+        if (browserName == null) {
+            log.error("Provided browserName is 'null', Please use 'chrome', 'firefox', or 'edge' only.");
+            throw new IllegalArgumentException("Unknown browser specified, Supported browsers are: chrome, firefox, edge.");
+        }
+        String requestKey = browserName + Arrays.toString(modes);
+        String profileId = profileIdsByRequest.get(requestKey);
+        if (profileId != null) {
+            return profileId;
+        }
+
+        String normalizedBrowserName = browserName.toLowerCase().trim();
+        GetWebDriver.browsers browser = switch (normalizedBrowserName) {
+            case "chrome" -> GetWebDriver.browsers.CHROME;
+            case "firefox" -> GetWebDriver.browsers.FIREFOX;
+            case "edge" -> GetWebDriver.browsers.EDGE;
+            default -> {
+                log.error("Unknown browser specified: '{}', Please use 'chrome', 'firefox', or 'edge' only.", browserName);
+                throw new IllegalArgumentException("Unknown browser specified, Supported browsers are: chrome, firefox, edge.");
+            }
+        };
+        profileId = normalizedBrowserName + "[" + normalizeModes(modes) + "]";
+
+        synchronized (profiles) {
+            if (!profiles.containsKey(profileId)) {
+                MutableCapabilities template = switch (browser) {
+                    case CHROME -> GetChrome.setupChromeDriver(modes);
+                    case FIREFOX -> GetFirefox.setupFirefoxDriver(modes);
+                    case EDGE -> GetEdge.setupEdgeDriver(modes);
+                };
+                profiles.put(profileId, new Profile(browser, template));
+                log.info("Browser profile '{}' is compiled.", profileId);
+            }
+        }
+        profileIdsByRequest.put(requestKey, profileId);
+        return profileId;
+    }
+
+    /**
+     * @param profileId a profile id returned by {@link #compile(String, String...)}
+     * @return the browser the profile was compiled for
+     */
+    static GetWebDriver.browsers browserOf(String profileId) {
+        return getProfile(profileId).browser();
+    }
+
+    /**
+     * Returns a new options instance copied from the compiled template of the profile.
+     * <br>The concrete type is {@link ChromeOptions}, {@link FirefoxOptions} or {@link EdgeOptions} depending on the browser.
+     *
+     * @param profileId a profile id returned by {@link #compile(String, String...)}
+     * @return a copy of the profile options, Safe to be modified by the caller
+     */
+    static MutableCapabilities newOptions(String profileId) {
+        Profile profile = getProfile(profileId);
+        ImmutableCapabilities noExtraCapabilities = new ImmutableCapabilities();
+        return switch (profile.browser()) {
+            case CHROME -> ((ChromeOptions) profile.template()).merge(noExtraCapabilities);
+            case FIREFOX -> ((FirefoxOptions) profile.template()).merge(noExtraCapabilities);
+            case EDGE -> ((EdgeOptions) profile.template()).merge(noExtraCapabilities);
+        };
+    }
+
+    private static Profile getProfile(String profileId) {
+        Profile profile = profiles.get(profileId);
+        if (profile == null) {
+            log.error("Browser profile '{}' isn't compiled.", profileId);
+            throw new IllegalArgumentException("Unknown browser profile: " + profileId);
+        }
+        return profile;
+    }
+
+    /**
+     * Normalizes modes to a stable, sorted, duplicate-free key (e.g., " Headless, inco" → "headless,inco").
+     */
+    private static String normalizeModes(String... modes) {
+        if (modes == null) {
+            return "";
+        }
+        return String.join(",", Arrays.stream(modes)
+                .filter(Objects::nonNull)
+                .map(mode -> mode.replace(" ", "").toLowerCase())
+                .filter(mode -> !mode.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new)));
+    }
+}
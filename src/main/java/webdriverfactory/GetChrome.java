@@ -24,6 +24,7 @@ import static java.lang.invoke.MethodHandles.lookup;
  *   <li>Maps recognized modes to Chrome CLI arguments via centralized mapping logic.</li>
  *   <li>Ignores null, empty, or unrecognized values gracefully.</li>
  *   <li>Prevents duplicate arguments using a {@link HashSet}.</li>
+ *   <li>Applies the performance profile for the "performance" mode (see {@link GetWebDriver#isPerformanceMode(String)}).</li>
  *   <li>Logs detailed information about applied or skipped modes.</li>
  * </ul>
  *
@@ -44,6 +45,7 @@ class GetChrome {
     /**
      * Creates and configures a {@link ChromeOptions} instance using the provided browser modes.
      * <br>Each mode is normalized and validated before being converted to a CLI argument.
+     * <br>Called once per profile by {@link BrowserProfiles}, Launches use copies of the returned options.
      *
      * @param modes one or more string modes to apply to the Chrome browser (e.g., "headless", "fullscreen").
      *              <br>May be null or contain null/empty entries, which will be ignored.
@@ -58,6 +60,11 @@ class GetChrome {
                 if (mode != null) {
                     normalizedMode = mode.replaceAll(" ", "").toLowerCase();
                 }
+                if (GetWebDriver.isPerformanceMode(normalizedMode)) {
+                    applyPerformanceProfile(options);
+                    appliedModes.add("performance");
+                    continue;
+                }
                 String argument = getArgumentForMode(GetWebDriver.browsers.CHROME, normalizedMode);  // Get the corresponding CLI argument for the mode
                 if (!argument.isEmpty()) {
                     options.addArguments(argument);  // Add the recognized argument to Chrome options
@@ -86,5 +93,12 @@ class GetChrome {
         return options;
     }
 
-
-}
\ No newline at end of file
+    /**
+     * Applies the performance profile: The configured page load strategy plus the Chromium switches
+     * in {@link GetWebDriver#CHROMIUM_PERFORMANCE_ARGUMENTS}.
+     */
+    private static void applyPerformanceProfile(ChromeOptions options) throws Exception {
+        options.setPageLoadStrategy(GetWebDriver.getPerformancePageLoadStrategy());
+        options.addArguments(GetWebDriver.CHROMIUM_PERFORMANCE_ARGUMENTS);
+    }
+}
@@ -24,6 +24,7 @@ import static java.lang.invoke.MethodHandles.lookup;
  *   <li>Maps recognized modes to Edge CLI arguments via centralized mapping logic.</li>
  *   <li>Ignores null, empty, or unrecognized values gracefully.</li>
  *   <li>Prevents duplicate arguments using a {@link HashSet}.</li>
+ *   <li>Applies the performance profile for the "performance" mode (see {@link GetWebDriver#isPerformanceMode(String)}).</li>
  *   <li>Logs detailed information about applied or skipped modes.</li>
  * </ul>
  *
@@ -44,6 +45,7 @@ class GetEdge {
     /**
      * Creates and configures an {@link EdgeOptions} instance using the provided browser modes.
      * <br>Each mode is normalized and validated before being converted to a CLI argument.
+     * <br>Called once per profile by {@link BrowserProfiles}, Launches use copies of the returned options.
      *
      * @param modes one or more string modes to apply to the Edge browser (e.g., "headless", "private").<br>
      *              May be null or contain null/empty entries, which will be ignored.
@@ -58,6 +60,11 @@ class GetEdge {
                 if (mode != null) {
                     normalizedMode = mode.replaceAll(" ", "").toLowerCase();
                 }
+                if (GetWebDriver.isPerformanceMode(normalizedMode)) {
+                    applyPerformanceProfile(options);
+                    appliedModes.add("performance");
+                    continue;
+                }
                 String argument = getArgumentForMode(GetWebDriver.browsers.EDGE, normalizedMode);
                 if (!argument.isEmpty()) {
                     options.addArguments(argument);
@@ -86,4 +93,13 @@ class GetEdge {
         options.setExperimentalOption("prefs", edgePrefs);
         return options;
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the performance profile: The configured page load strategy plus the Chromium switches
+     * in {@link GetWebDriver#CHROMIUM_PERFORMANCE_ARGUMENTS}.
+     */
+    private static void applyPerformanceProfile(EdgeOptions options) throws Exception {
+        options.setPageLoadStrategy(GetWebDriver.getPerformancePageLoadStrategy());
+        options.addArguments(GetWebDriver.CHROMIUM_PERFORMANCE_ARGUMENTS);
+    }
+}
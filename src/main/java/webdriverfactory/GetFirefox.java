@@ -22,6 +22,7 @@ import static java.lang.invoke.MethodHandles.lookup;
  *   <li>Maps recognized modes to Firefox CLI arguments via centralized mapping logic.</li>
  *   <li>Ignores null, empty, or unrecognized values gracefully.</li>
  *   <li>Prevents duplicate arguments using a {@link HashSet}.</li>
+ *   <li>Applies the performance profile for the "performance" mode (see {@link GetWebDriver#isPerformanceMode(String)}).</li>
  *   <li>Logs detailed information about applied or skipped modes.</li>
  * </ul>
  *
@@ -42,6 +43,7 @@ class GetFirefox {
     /**
      * Creates and configures a {@link FirefoxOptions} instance using the provided browser modes.
      * <br>Each mode is normalized and validated before being converted to a CLI argument.
+     * <br>Called once per profile by {@link BrowserProfiles}, Launches use copies of the returned options.
      *
      * @param modes one or more string modes to apply to the Firefox browser (e.g., "headless", "fullscreen").
      *              <br>May be null or contain null/empty entries, which will be ignored.
@@ -62,6 +64,11 @@ class GetFirefox {
                 if (mode != null) {
                     normalizedMode = mode.replaceAll(" ", "").toLowerCase();
                 }
+                if (GetWebDriver.isPerformanceMode(normalizedMode)) {
+                    applyPerformanceProfile(options);
+                    appliedModes.add("performance");
+                    continue;
+                }
                 String argument = getArgumentForMode(GetWebDriver.browsers.FIREFOX, normalizedMode);
                 if (!argument.isEmpty()) {
                     options.addArguments(argument);
@@ -79,4 +86,24 @@ class GetFirefox {
         }
         return options;  // Return the configured Firefox WebDriver instance
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the performance profile: The configured page load strategy plus preferences disabling images,
+     * add-on/app updates, background networking (safe browsing, prefetch, telemetry) and sync.
+     */
+    private static void applyPerformanceProfile(FirefoxOptions options) throws Exception {
+        options.setPageLoadStrategy(GetWebDriver.getPerformancePageLoadStrategy());
+        options.addPreference("permissions.default.image", 2);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("extensions.getAddons.cache.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("identity.fxaccounts.enabled", false);
+        options.addPreference("browser.newtabpage.enabled", false);
+    }
+}
@@ -1,13 +1,29 @@
 package webdriverfactory;
 
+import actions.ElementCache;
+import datadriven.ConfigLoader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
-
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.http.ClientConfig;
+import utility.CommandLatencyRecorder;
+import utility.StartupTimings;
+
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -21,10 +37,14 @@ import static java.lang.invoke.MethodHandles.lookup;
  *   <li>Supports Chrome, Firefox, and Edge browsers.</li>
  *   <li>Thread-safe driver management using ThreadLocal.</li>
  *   <li>Flexible browser modes like headless, incognito, fullscreen, etc.</li>
+ *   <li>A "performance" mode bundling a faster page load strategy and disabled images, extensions and background services.</li>
  *   <li>Encapsulates setup logic to initialize WebDriver with flags.</li>
  *   <li>Integrated Log4j-based logging for tracking driver lifecycle events.</li>
  *   <li>Prevents duplicate WebDriver creation for the same thread.</li>
  *   <li>Graceful shutdown and cleanup of driver instances.</li>
+ *   <li>Optional warm pool of pre-launched browsers leased to threads instead of launching per thread.</li>
+ *   <li>Records per-phase startup timings of every launch (see {@link StartupTimings}).</li>
+ *   <li>Optionally records the latency of every driver command (see {@link CommandLatencyRecorder}).</li>
  * </ul>
  *
  * <p>Example usage:
@@ -44,6 +64,7 @@ public class GetWebDriver {
     private static final Logger log = LogManager.getLogger(lookup().lookupClass());
     private static final ThreadLocal<WebDriver> localDrivers = new ThreadLocal<>();
     private static final ThreadLocal<GetWebDriver> getWebDriver = new ThreadLocal<>();
+    private static volatile WebDriverPool pool;
 
 
     /**
@@ -54,7 +75,13 @@ public class GetWebDriver {
      * @param modes       optional modes such as "headless", "incognito", etc.
      */
     private GetWebDriver(String browserName, String... modes) throws Exception {
-        launchBrowser(browserName, modes);
+        WebDriverPool activePool = pool;
+        if (activePool != null && browserName != null
+                && activePool.getProfileId().equals(BrowserProfiles.compile(browserName, modes))) {  // Same browser and modes
+            setLocalDriver(activePool.lease());
+        } else {
+            launchBrowser(browserName, modes);
+        }
     }
 
 
@@ -93,34 +120,111 @@ public class GetWebDriver {
     }
 
     /**
-     * Launches the specified browser with the provided modes.
+     * Launches the specified browser with the provided modes and binds it to the current thread.
      *
      * @param browserName the browser name (e.g., "chrome", "firefox", "edge")
      * @param modes       one or more browser mode strings (e.g., "headless", "incognito", "inprivate")
      * @throws IllegalArgumentException if an unknown browser is specified
      */
     private void launchBrowser(String browserName, String... modes) throws Exception {
-        if (browserName == null){
-            log.error("Provided browserName is 'null', Please use 'chrome', 'firefox', or 'edge' only.");
-            throw new IllegalArgumentException("Unknown browser specified, Supported browsers are: chrome, firefox, edge.");
-        }
-        String normalizedBrowserName = browserName.toLowerCase().trim();  // Normalize the browser name (e.g., 'chrome', 'edge', etc.)
+        setLocalDriver(createDriver(browserName, modes));
+    }
 
-        // Select the appropriate browser and return the corresponding WebDriver
-        WebDriver driver = switch (normalizedBrowserName) {
+    /**
+     * Creates a new driver instance for the specified browser with the provided modes.
+     *
+     * @param browserName the browser name (e.g., "chrome", "firefox", "edge")
+     * @param modes       one or more browser mode strings (e.g., "headless", "incognito", "inprivate")
+     * @return the launched WebDriver
+     * @throws IllegalArgumentException if an unknown browser is specified
+     */
+    static WebDriver createDriver(String browserName, String... modes) throws Exception {
+        StartupTimings timings = StartupTimings.start(String.valueOf(browserName).toLowerCase().trim());
+        timings.phase("profileCompile");
+        String profileId = BrowserProfiles.compile(browserName, modes);
+        return launchProfile(profileId, timings);
+    }
 
-            case "chrome" -> new ChromeDriver(GetChrome.setupChromeDriver(modes));
-            case "firefox" -> new FirefoxDriver(GetFirefox.setupFirefoxDriver(modes));
-            case "edge" -> new EdgeDriver(GetEdge.setupEdgeDriver(modes));
-            default -> {  // Handle unknown browser names
-                log.error("Unknown browser specified: '{}', Please use 'chrome', 'firefox', or 'edge' only.", browserName);
-                throw new IllegalArgumentException("Unknown browser specified, Supported browsers are: chrome, firefox, edge.");
+    /**
+     * Creates a new driver instance from a compiled {@link BrowserProfiles} profile.
+     *
+     * @param profileId the profile id returned by {@link BrowserProfiles#compile(String, String...)}
+     * @param timings   the startup timings to record the launch phases into, Finished by this method
+     * @return the launched WebDriver
+     */
+    static WebDriver launchProfile(String profileId, StartupTimings timings) {
+        try {
+            timings.phase("optionsBuild");
+            MutableCapabilities options = BrowserProfiles.newOptions(profileId);
+
+            // Driver binary resolution, browser process spawn and the new session handshake
+            timings.phase("driverLaunch");
+            WebDriver driver;
+            if (CommandLatencyRecorder.isEnabled()) {           // Records every command sent by the driver
+                ClientConfig clientConfig = ClientConfig.defaultConfig().withFilter(CommandLatencyRecorder.filterFor(profileId));
+                driver = switch (BrowserProfiles.browserOf(profileId)) {
+                    case CHROME -> new ChromeDriver(ChromeDriverService.createDefaultService(), (ChromeOptions) options, clientConfig);
+                    case FIREFOX -> new FirefoxDriver(GeckoDriverService.createDefaultService(), (FirefoxOptions) options, clientConfig);
+                    case EDGE -> new EdgeDriver(EdgeDriverService.createDefaultService(), (EdgeOptions) options, clientConfig);
+                };
+            } else {
+                driver = switch (BrowserProfiles.browserOf(profileId)) {
+                    case CHROME -> new ChromeDriver((ChromeOptions) options);
+                    case FIREFOX -> new FirefoxDriver((FirefoxOptions) options);
+                    case EDGE -> new EdgeDriver((EdgeOptions) options);
+                };
             }
-        };
 
-        log.info("Driver instance is Launched successfully with '{}' browser.", normalizedBrowserName);  // Log the successful browser launch
-        setLocalDriver(driver);
-        getLocalDriver();
+            timings.phase("firstCommand");
+            driver.getWindowHandle();
+            log.info("Driver instance is Launched successfully with '{}' browser profile.", profileId);  // Log the successful browser launch
+            return driver;
+        } finally {
+            timings.finish();
+        }
+    }
+
+    /**
+     * Starts a warm pool of pre-launched browsers if {@code browserPoolEnabled} is true in Config.properties.
+     * <br>Pool size, maximum reuse count, reset strategy and lease timeout are read from the same file.
+     * <br>Once started, {@link #getInstance(String, String...)} leases pooled browsers of the same name and modes
+     * and {@link #quitDriver()} resets and returns them instead of quitting.
+     * <br>BaseTest starts the pool before the suite with {@code browserName} and {@code browserModes}, And stops it after the suite.
+     *
+     * @param browserName the browser name to pre-launch (e.g., "chrome", "firefox", "edge")
+     * @param modes       optional browser modes applied to every pooled browser
+     * @throws Exception if the configuration can't be read or a browser fails to launch
+     */
+    public static synchronized void startPool(String browserName, String... modes) throws Exception {
+        if (pool != null) {
+            log.warn("Browser pool is already started, Ignoring the new start request.");
+            return;
+        }
+        ConfigLoader config = new ConfigLoader("src/test/resources/Config.properties");
+        if (!Boolean.parseBoolean(config.getValue("browserPoolEnabled"))) {
+            log.info("Browser pool is disabled, Browsers will be launched per thread.");
+            return;
+        }
+        WebDriverPool newPool = new WebDriverPool(
+                browserName.toLowerCase().trim(),
+                BrowserProfiles.compile(browserName, modes),
+                Integer.parseInt(config.getValue("browserPoolSize", true)),
+                Integer.parseInt(config.getValue("browserPoolMaxReuse", true)),
+                WebDriverPool.ResetStrategy.valueOf(config.getValue("browserPoolResetStrategy", true).toLowerCase()),
+                config.getValue("downloadDirectory"),
+                Duration.ofSeconds(Long.parseLong(config.getValue("browserPoolLeaseTimeoutSeconds", true))));
+        newPool.start();
+        pool = newPool;
+    }
+
+    /**
+     * Quits all pooled browsers, Threads launch their own browsers afterward.
+     */
+    public static synchronized void stopPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
     }
 
     /**
@@ -153,13 +257,50 @@ public class GetWebDriver {
     }
 
 
+    /**
+     * Checks whether a normalized mode selects the performance profile, Which is a bundle of settings rather than one CLI argument.
+     *
+     * @param mode the normalized mode (e.g., "performance", "perf")
+     * @return {@code true} if the performance profile should be applied
+     */
+    static boolean isPerformanceMode(String mode) {
+        return mode != null && PERFORMANCE_MODES.contains(mode);
+    }
+
+    /**
+     * Reads the page load strategy of the performance profile from Config.properties ('eager' by default).
+     *
+     * @return the configured {@link PageLoadStrategy}, Falls back to {@link PageLoadStrategy#EAGER} if it's missing or invalid
+     */
+    static PageLoadStrategy getPerformancePageLoadStrategy() throws Exception {
+        ConfigLoader config = new ConfigLoader("src/test/resources/Config.properties");
+        String strategy = config.getValue("performancePageLoadStrategy");
+        if (strategy != null && !strategy.isEmpty()) {
+            try {
+                return PageLoadStrategy.fromString(strategy.toLowerCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Page load strategy '{}' is invalid, Supported strategies are: eager, none, normal. 'eager' will be used.", strategy);
+            }
+        }
+        return PageLoadStrategy.EAGER;
+    }
+
     /**
      * Quits the WebDriver associated with the current thread and performs cleanup.
+     * <br>Pooled browsers are reset and returned to the pool instead of being quit.
      */
     public static void quitDriver() {
         WebDriver driver = getLocalDriver();
 
         if (driver != null) {
+            ElementCache.discard(driver);
+        }
+        WebDriverPool activePool = pool;
+        if (driver != null && activePool != null && activePool.owns(driver)) {
+            activePool.release(driver);
+            localDrivers.remove();
+            getWebDriver.remove();
+        } else if (driver != null) {
             try {
                 // Check if the session is still valid before quitting
                 driver.getWindowHandle(); // Will throw if session is already closed
@@ -242,6 +383,24 @@ public class GetWebDriver {
 
     );
 
+    private static final Set<String> PERFORMANCE_MODES = Set.of("performance", "performancemode", "perf");
+
+    /**
+     * Chrome/Edge switches of the performance profile: No images, extensions, background networking,
+     * component updates, sync or default apps.
+     */
+    @SuppressWarnings("SpellCheckingInspection")
+    static final List<String> CHROMIUM_PERFORMANCE_ARGUMENTS = List.of(
+            "--blink-settings=imagesEnabled=false",
+            "--disable-extensions",
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-sync",
+            "--disable-default-apps",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--no-first-run"
+    );
+
     @SuppressWarnings("SpellCheckingInspection")
     private static final Map<String, String> EDGE_MODES = Map.ofEntries(
             Map.entry("max", "--start-maximized"),
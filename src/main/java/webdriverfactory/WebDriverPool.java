@@ -0,0 +1,304 @@
+package webdriverfactory;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utility.StartupTimings;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * WebDriverPool keeps a fixed number of pre-launched browser sessions and leases them to test threads,
+ * so tests skip the browser process spawn and session handshake paid by a fresh launch.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Launches all browsers concurrently from one compiled {@link BrowserProfiles} profile when the pool is started.</li>
+ *   <li>Leases idle browsers with a bounded wait and records how long each lease waited.</li>
+ *   <li>Resets a released browser (cookies, storage, extra tabs, downloads) according to the {@link ResetStrategy}.</li>
+ *   <li>Retires a browser after a maximum number of leases or a failed reset and launches a replacement.</li>
+ * </ul>
+ *
+ * <p>Example usage (through {@link GetWebDriver}):
+ * <pre>{@code
+ * GetWebDriver.startPool("chrome", "headless");
+ * GetWebDriver.getInstance("chrome");   // leases a pooled browser
+ * GetWebDriver.quitDriver();            // resets and returns it to the pool
+ * GetWebDriver.stopPool();
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+class WebDriverPool {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final int REPLACEMENT_ATTEMPTS = 3;
+    private static final Duration REPLACEMENT_RETRY_DELAY = Duration.ofSeconds(2);
+
+    private final String browserName;
+    private final String profileId;
+    private final int poolSize;
+    private final int maxReuse;
+    private final ResetStrategy resetStrategy;
+    private final String downloadDirectory;
+    private final Duration leaseTimeout;
+
+    private final BlockingQueue<PooledDriver> idleDrivers = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledDriver> leasedDrivers = new ConcurrentHashMap<>();
+    private final ExecutorService launcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicInteger size;
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder totalLeaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    /**
+     * Reset applied to a browser before it is handed to the next lease.
+     * <br>Each strategy includes everything done by the previous one.
+     */
+    enum ResetStrategy {
+        /** Deletes all cookies. */
+        cookies,
+        /** Also clears local/session storage, closes extra tabs and navigates to a blank page. */
+        storage,
+        /** Also empties the download directory. */
+        full
+    }
+
+    /**
+     * Holds a pooled browser together with the number of times it has been leased.
+     */
+    private static final class PooledDriver {
+        private final WebDriver driver;
+        private int leases;
+
+        private PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    WebDriverPool(String browserName, String profileId, int poolSize, int maxReuse, ResetStrategy resetStrategy,
+                  String downloadDirectory, Duration leaseTimeout) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Browser pool size must be greater than 0, But it was: " + poolSize);
+        }
+        this.browserName = browserName;
+        this.profileId = profileId;
+        this.poolSize = poolSize;
+        this.maxReuse = maxReuse;
+        this.resetStrategy = resetStrategy;
+        this.downloadDirectory = downloadDirectory;
+        this.leaseTimeout = leaseTimeout;
+        this.size = new AtomicInteger(poolSize);
+    }
+
+    /**
+     * Launches all pooled browsers concurrently and waits until every launch finishes.
+     *
+     * @throws Exception if any of the browsers fails to launch
+     */
+    void start() throws Exception {
+        long start = System.nanoTime();
+        List<Future<WebDriver>> launches = new ArrayList<>();
+        for (int i = 0; i < poolSize; i++) {
+            launches.add(launcher.submit(() -> GetWebDriver.launchProfile(profileId, StartupTimings.start(browserName))));
+        }
+        List<WebDriver> launched = new ArrayList<>();
+        Exception failure = null;
+        for (Future<WebDriver> launch : launches) {                 // Waits for every launch, So none is left running
+            try {
+                launched.add(launch.get());
+            } catch (Exception e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            log.error("Failed to start the browser pool, Quitting the '{}' browsers already launched.", launched.size());
+            launched.forEach(this::quitQuietly);
+            launcher.shutdownNow();
+            if (failure instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw failure;
+        }
+        launched.forEach(driver -> idleDrivers.offer(new PooledDriver(driver)));
+        log.info("Browser pool started with '{}' '{}' browsers in '{}' ms.", poolSize, browserName,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return the compiled {@link BrowserProfiles} profile id (browser and modes) every pooled driver was launched with
+     */
+    String getProfileId() {
+        return profileId;
+    }
+
+    /**
+     * Leases an idle browser, waiting up to the configured lease timeout if all browsers are in use.
+     *
+     * @return a reset browser dedicated to the caller until {@link #release(WebDriver)} is called
+     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws IllegalStateException if no browser becomes available within the lease timeout
+     */
+    WebDriver lease() throws InterruptedException {
+        StartupTimings timings = StartupTimings.start("pool:" + browserName);
+        timings.phase("leaseWait");
+        long start = System.nanoTime();
+        PooledDriver pooledDriver = idleDrivers.poll(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        long waitedNanos = System.nanoTime() - start;
+        timings.finish();
+        if (pooledDriver == null) {
+            log.error("No pooled '{}' browser became available within '{}' seconds, Pool size is '{}' of '{}'.",
+                    browserName, leaseTimeout.toSeconds(), size.get(), poolSize);
+            throw new IllegalStateException("Timed out waiting for a pooled browser after " + leaseTimeout.toSeconds()
+                    + " seconds, Pool size is " + size.get() + " of " + poolSize + ".");
+        }
+        pooledDriver.leases++;
+        leasedDrivers.put(pooledDriver.driver, pooledDriver);
+
+        leaseCount.increment();
+        totalLeaseWaitNanos.add(waitedNanos);
+        maxLeaseWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+        log.info("Leased a pooled '{}' browser (lease no. '{}') after waiting '{}' ms.",
+                browserName, pooledDriver.leases, TimeUnit.NANOSECONDS.toMillis(waitedNanos));
+        return pooledDriver.driver;
+    }
+
+    /**
+     * @param driver the driver to check
+     * @return {@code true} if the driver is currently leased from this pool
+     */
+    boolean owns(WebDriver driver) {
+        return leasedDrivers.containsKey(driver);
+    }
+
+    /**
+     * Returns a leased browser to the pool after resetting it.
+     * <br>Browsers that reached the maximum reuse count or failed to reset are quit and replaced in the background.
+     *
+     * @param driver the leased driver to return
+     */
+    void release(WebDriver driver) {
+        PooledDriver pooledDriver = leasedDrivers.remove(driver);
+        if (pooledDriver == null) {
+            log.warn("The released driver doesn't belong to the browser pool, It will be ignored.");
+            return;
+        }
+        if (maxReuse > 0 && pooledDriver.leases >= maxReuse) {
+            log.info("Pooled '{}' browser reached the maximum reuse count '{}', Replacing it.", browserName, maxReuse);
+            replace(pooledDriver);
+            return;
+        }
+        try {
+            reset(driver);
+            idleDrivers.offer(pooledDriver);
+            log.info("Pooled '{}' browser is reset with '{}' strategy and returned to the pool.", browserName, resetStrategy);
+        } catch (Exception e) {
+            log.warn("Failed to reset pooled '{}' browser, Replacing it: {}", browserName, e.getMessage());
+            replace(pooledDriver);
+        }
+    }
+
+    /**
+     * Quits every idle and leased browser and logs the lease wait statistics.
+     */
+    void shutdown() {
+        launcher.shutdownNow();
+        List<PooledDriver> drivers = new ArrayList<>(leasedDrivers.values());
+        idleDrivers.drainTo(drivers);
+        leasedDrivers.clear();
+        for (PooledDriver pooledDriver : drivers) {
+            quitQuietly(pooledDriver.driver);
+        }
+        long leases = leaseCount.sum();
+        log.info("Browser pool stopped, Size: '{}' of '{}', Leases: '{}', average lease wait: '{}' ms, maximum lease wait: '{}' ms.",
+                size.get(), poolSize, leases,
+                leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.sum() / leases),
+                TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get()));
+    }
+
+    /**
+     * Resets the browser state according to the configured {@link ResetStrategy}.
+     *
+     * @param driver the driver to reset
+     */
+    private void reset(WebDriver driver) throws Exception {
+        driver.manage().deleteAllCookies();
+        if (resetStrategy.compareTo(ResetStrategy.storage) >= 0) {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            try {
+                ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (Exception e) {
+                log.debug("Storage can't be cleared on the current page: {}", e.getMessage());
+            }
+            driver.navigate().to("about:blank");
+        }
+        if (resetStrategy == ResetStrategy.full && downloadDirectory != null && !downloadDirectory.isBlank()) {
+            File downloads = new File(downloadDirectory);
+            if (downloads.isDirectory()) {
+                FileUtils.cleanDirectory(downloads);
+            }
+        }
+    }
+
+    /**
+     * Quits a retired browser and launches its replacement in the background.
+     * <br>A failed launch is retried up to {@code REPLACEMENT_ATTEMPTS} times, After that the pool shrinks by one browser.
+     *
+     * @param retired the pooled browser to retire
+     */
+    private void replace(PooledDriver retired) {
+        quitQuietly(retired.driver);
+        launcher.submit(() -> {
+            for (int attempt = 1; attempt <= REPLACEMENT_ATTEMPTS; attempt++) {
+                try {
+                    idleDrivers.offer(new PooledDriver(GetWebDriver.launchProfile(profileId, StartupTimings.start(browserName))));
+                    log.info("Replacement '{}' browser is launched and added to the pool.", browserName);
+                    return;
+                } catch (Exception e) {
+                    log.warn("Failed to launch a replacement '{}' browser for the pool (attempt '{}' of '{}'): {}",
+                            browserName, attempt, REPLACEMENT_ATTEMPTS, e.getMessage());
+                }
+                try {
+                    Thread.sleep(REPLACEMENT_RETRY_DELAY.toMillis() * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();                 // Pool is shutting down
+                    return;
+                }
+            }
+            log.error("Replacement '{}' browser couldn't be launched, The pool shrinks to '{}' of '{}' browsers.",
+                    browserName, size.decrementAndGet(), poolSize);
+        });
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Pooled browser session might already be closed: {}", e.getMessage());
+        }
+    }
+}
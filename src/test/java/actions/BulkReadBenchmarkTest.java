@@ -0,0 +1,129 @@
+package actions;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * BulkReadBenchmarkTest compares {@link UIActions#readElementsProperties(List, String...)} against a simulated driver,
+ * Whose every command takes a few milliseconds: One {@code executeScript} call reading all elements, And the element by
+ * element fallback of a driver without script support, Which sends a command per element and property.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class BulkReadBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final int ELEMENTS = 20;
+    private static final String[] PROPERTIES = {"text", "displayed", "href"};
+    private static final long COMMAND_LATENCY_MILLIS = 5;
+
+    /**
+     * A driver of {@link #ELEMENTS} links, Counting the commands it and its elements get.
+     */
+    private static final class SimulatedDriver {
+        private final AtomicInteger commands = new AtomicInteger();
+        private final List<WebElement> elements = new ArrayList<>();
+        private final Map<WebElement, Map<String, Object>> values = new LinkedHashMap<>();
+        private final WebDriver driver;
+
+        private SimulatedDriver(boolean scriptsSupported) {
+            for (int i = 0; i < ELEMENTS; i++) {
+                Map<String, Object> properties = Map.of("text", "Link " + i, "displayed", i % 2 == 0, "href", "/page/" + i);
+                WebElement element = (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                        new Class<?>[]{WebElement.class}, (proxy, method, args) -> switch (method.getName()) {
+                            case "getText" -> command(properties.get("text"));
+                            case "isDisplayed" -> command(properties.get("displayed"));
+                            case "getDomAttribute" -> command(properties.get(args[0]));
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> null;
+                        });
+                elements.add(element);
+                values.put(element, properties);
+            }
+            this.driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                    new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "executeScript" -> {
+                            command(null);
+                            if (!scriptsSupported) {
+                                throw new UnsupportedCommandException("Scripts aren't supported in this context.");
+                            }
+                            yield executeBulkRead(args[1]);
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "SimulatedDriver";
+                        default -> null;
+                    });
+        }
+
+        private Object command(Object result) throws InterruptedException {
+            commands.incrementAndGet();
+            Thread.sleep(COMMAND_LATENCY_MILLIS);
+            return result;
+        }
+
+        /**
+         * @return the result the bulk read script returns for the elements and properties of its arguments
+         */
+        @SuppressWarnings("unchecked")
+        private List<Map<String, Object>> executeBulkRead(Object scriptArgs) {
+            Object[] arguments = (Object[]) scriptArgs;
+            List<WebElement> readElements = (List<WebElement>) arguments[0];
+            List<String> properties = (List<String>) arguments[1];
+            List<Map<String, Object>> result = new ArrayList<>();
+            for (WebElement element : readElements) {
+                Map<String, Object> read = new LinkedHashMap<>();
+                properties.forEach(property -> read.put(property, values.get(element).get(property)));
+                result.add(read);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The duration and the commands of one read of all elements.
+     */
+    private record Result(long millis, int commands, List<Map<String, String>> values) {
+    }
+
+    @Test
+    public void oneScriptCallBeatsReadsPerElementAndProperty() {
+        Result bulk = read(new SimulatedDriver(true));
+        Result perElement = read(new SimulatedDriver(false));
+        log.info("Reading '{}' properties of '{}' elements: One script call in '{}' ms with '{}' commands, "
+                        + "Element by element in '{}' ms with '{}' commands.", PROPERTIES.length, ELEMENTS,
+                bulk.millis(), bulk.commands(), perElement.millis(), perElement.commands());
+
+        assertEquals(bulk.values(), perElement.values(), "Bulk read and element by element read differ.");
+        assertEquals(bulk.commands(), 1, "Bulk read sent more than one command.");
+        assertEquals(perElement.commands(), 1 + ELEMENTS * PROPERTIES.length,  // The unsupported script call, Then a command per read
+                "Element by element read didn't send a command per element and property.");
+        assertTrue(bulk.millis() < perElement.millis(), "One script call isn't quicker than reading element by element: "
+                + bulk + " vs " + perElement);
+    }
+
+    private static Result read(SimulatedDriver simulated) {
+        UIActions uiActions = new UIActions(simulated.driver, 10);
+        long start = System.nanoTime();
+        List<Map<String, String>> values = uiActions.readElementsProperties(simulated.elements, PROPERTIES);
+        return new Result((System.nanoTime() - start) / 1_000_000, simulated.commands.get(), values);
+    }
+}
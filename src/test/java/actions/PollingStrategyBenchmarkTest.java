@@ -0,0 +1,99 @@
+package actions;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * PollingStrategyBenchmarkTest compares the {@link PollingStrategy} polling of {@link AdaptiveWait} against a simulated driver,
+ * Whose element appears a given time after the wait starts and whose every command takes a few milliseconds.
+ * <br>For each strategy it measures how late the element is detected after it appears, And how many commands are sent.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class PollingStrategyBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final long[] APPEAR_AFTER_MILLIS = {100, 250, 600};
+    private static final long COMMAND_LATENCY_MILLIS = 5;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final By READY = By.id("ready");
+
+    /**
+     * A driver whose {@link WebDriver#findElement(By)} fails until the element appears, Counting the commands it gets.
+     */
+    private static final class SimulatedDriver {
+        private final long appearsAtNanos;
+        private final AtomicInteger commands = new AtomicInteger();
+        private final WebDriver driver;
+
+        private SimulatedDriver(long appearAfterMillis) {
+            this.appearsAtNanos = System.nanoTime() + Duration.ofMillis(appearAfterMillis).toNanos();
+            WebElement element = (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                    new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+            this.driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                    new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                        if (!method.getName().equals("findElement")) {
+                            return method.getName().equals("toString") ? "SimulatedDriver" : null;
+                        }
+                        commands.incrementAndGet();
+                        Thread.sleep(COMMAND_LATENCY_MILLIS);
+                        if (System.nanoTime() < appearsAtNanos) {
+                            throw new NoSuchElementException("Element " + args[0] + " hasn't appeared yet.");
+                        }
+                        return element;
+                    });
+        }
+    }
+
+    /**
+     * The average detection delay and the total commands of one strategy over all simulated appearance times.
+     */
+    private record Result(long overshootMillis, int commands) {
+    }
+
+    @Test
+    public void adaptivePollingDetectsConditionsSoonerThanFixed() {
+        Map<PollingStrategy, Result> results = new EnumMap<>(PollingStrategy.class);
+        for (PollingStrategy strategy : PollingStrategy.values()) {
+            long overshoot = 0;
+            int commands = 0;
+            for (long appearAfter : APPEAR_AFTER_MILLIS) {
+                SimulatedDriver simulated = new SimulatedDriver(appearAfter);
+                long start = System.nanoTime();
+                new AdaptiveWait(simulated.driver, TIMEOUT, strategy).until(driver -> driver.findElement(READY));
+                long detectedAfter = (System.nanoTime() - start) / 1_000_000;
+                assertTrue(detectedAfter >= appearAfter, strategy + " detected the element before it appeared.");
+                assertTrue(detectedAfter - appearAfter <= strategy.interval(Integer.MAX_VALUE).toMillis() + 250,
+                        strategy + " detected the element '" + (detectedAfter - appearAfter) + "' ms after it appeared.");
+                overshoot += detectedAfter - appearAfter;
+                commands += simulated.commands.get();
+                log.info("'{}' polling detected an element appearing after '{}' ms in '{}' ms with '{}' commands.",
+                        strategy, appearAfter, detectedAfter, simulated.commands.get());
+            }
+            results.put(strategy, new Result(overshoot / APPEAR_AFTER_MILLIS.length, commands));
+        }
+        log.info("Polling benchmark (average detection delay, total commands): {}", results);
+
+        Result fixed = results.get(PollingStrategy.fixed);
+        Result fast = results.get(PollingStrategy.fast);
+        Result backoff = results.get(PollingStrategy.backoff);
+        assertTrue(fast.overshootMillis() < fixed.overshootMillis(), "fast polling isn't quicker than fixed: " + results);
+        assertTrue(backoff.overshootMillis() < fixed.overshootMillis(), "backoff polling isn't quicker than fixed: " + results);
+        assertTrue(backoff.commands() < fast.commands(), "backoff polling doesn't send fewer commands than fast: " + results);
+    }
+}
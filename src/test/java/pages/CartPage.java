@@ -62,20 +62,14 @@ public class CartPage extends BasePage {
 
         for (int i = 0; i < items.length; i++) {
 
-            androidActions.scrollUntilElementVisible(
+            // The cart line is queried on a local snapshot of the screen, Not by remote XPath lookups
+            String actualItemName = androidActions.scrollUntilNodeVisible(
                     scrollableContainer,
                     UIActions.LocatorType.xPath,
-                    "//android.widget.TextView[contains(@text,\"" + expectedItemsPrices.get(i) + "\")]",
+                    "//android.widget.TextView[@text='" + expectedItemsPrices.get(i) + "']/ancestor::android.widget.RelativeLayout[1]//android.widget.TextView[@resource-id='com.androidsample.generalstore:id/productName']",
                     AndroidActions.Direction.down,
                     0.7
-            );
-
-            String actualItemName = uiActions.getElementAttribute(
-                    UIActions.LocatorType.xPath,
-                    "//android.widget.TextView[@text='" + expectedItemsPrices.get(i) + "']/ancestor::android.widget.RelativeLayout[1]//android.widget.TextView[@resource-id='com.androidsample.generalstore:id/productName']",
-                    UIActions.ExplicitWaitCondition.presenceOfElement,
-                    "text"
-            );
+            ).getText();
 
             softAssert.assertTrue(actualItemName.contains(items[i]));
             if (actualItemName.contains(items[i])) {
@@ -2,6 +2,7 @@ package pages;
 
 import actions.UIActions;
 import mobile.android.AndroidActions;
+import mobile.android.UiHierarchySnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebElement;
@@ -30,21 +31,19 @@ public class ProductPage extends BasePage {
         WebElement scrollableContainer = uiActions.findWebElement(UIActions.LocatorType.xPath, "//android.support.v7.widget.RecyclerView[@resource-id=\"com.androidsample.generalstore:id/rvProductList\"]"
                 , UIActions.ExplicitWaitCondition.visibilityOfElement);
         for (String item : items) {
+            // The product card is queried on a local snapshot of the screen, Not by remote XPath lookups
+            String productCard = "//android.widget.TextView[contains(@text,\"" + item + "\")]/ancestor::android.widget.LinearLayout[1]";
 
-            androidActions.scrollUntilElementVisible(scrollableContainer, UIActions.LocatorType.xPath,
-                    "//android.widget.TextView[contains(@text,\"" + item + "\")]/ancestor::android.widget.LinearLayout[1]//android.widget.TextView[@text='ADD TO CART']",
+            UiHierarchySnapshot.UiNode addToCartBtn = androidActions.scrollUntilNodeVisible(scrollableContainer, UIActions.LocatorType.xPath,
+                    productCard + "//android.widget.TextView[@text='ADD TO CART']",
                     AndroidActions.Direction.down, 0.7);
-            uiActions.click(
-                    UIActions.LocatorType.xPath,
-                    "//android.widget.TextView[contains(@text,\"" + item + "\")]/ancestor::android.widget.LinearLayout[1]//android.widget.TextView[@text='ADD TO CART']"
-                    , UIActions.ExplicitWaitCondition.elementToBeClickable
-            );
-
-            itemsPrices.add(uiActions.getElementText(
-                    UIActions.LocatorType.xPath,
-                    "//android.widget.TextView[contains(@text,\"" + item + "\")]/ancestor::android.widget.LinearLayout[1]//android.widget.TextView[contains(@text,'$')]"
-                    , UIActions.ExplicitWaitCondition.presenceOfElement
-            ));
+            String itemPrice = uiActions.getHierarchySnapshot()
+                    .find(UIActions.LocatorType.xPath, productCard + "//android.widget.TextView[contains(@text,'$')]")
+                    .map(UiHierarchySnapshot.UiNode::getText)
+                    .orElseThrow(() -> new RuntimeException("Price of product '" + item + "' isn't shown."));
+            androidActions.clickGesture(addToCartBtn);
+
+            itemsPrices.add(itemPrice);
 
         }
         selectedItemsPrices = itemsPrices;
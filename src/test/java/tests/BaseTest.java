@@ -1,5 +1,6 @@
 package tests;
 
+import actions.ElementCache;
 import actions.UIActions;
 import datadriven.ConfigLoader;
 import datadriven.JsonFileManager;
@@ -7,6 +8,10 @@ import mobileDriverFactory.GetMobileDriver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
@@ -16,12 +21,27 @@ import pages.CartPage;
 import pages.HomePage;
 import pages.ProductPage;
 import pages.WebPage;
+import utility.CommandLatencyRecorder;
+import utility.Device;
+import utility.DeviceLease;
+import utility.DeviceRequirement;
 import utility.DevicesManager;
+import utility.EmulatorLauncher;
+import utility.RequiresDevice;
+import utility.StartupTimings;
+import webdriverfactory.GetWebDriver;
 
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
@@ -41,7 +61,7 @@ public class BaseTest {
     protected ThreadLocal<CartPage> cartPage = new ThreadLocal<>();
     protected ThreadLocal<WebPage> webPage = new ThreadLocal<>();
     protected ThreadLocal<UIActions> uiActions = new ThreadLocal<>();
-    protected ThreadLocal<Map<String, Object>> acquiredDevice = new ThreadLocal<>();
+    protected ThreadLocal<DeviceLease> deviceLease = new ThreadLocal<>();
 
 
     @BeforeSuite
@@ -58,10 +78,39 @@ public class BaseTest {
 
             List<Map<String, Object>> devices = jsonFileManager.getListOfMapsByKey("devices");
             deviceManager.initialize(devices);
+            deviceManager.enableQuarantine(configurationLoader);            // Quarantine devices failing repeatedly
+            if (Boolean.parseBoolean(configurationLoader.getValue("appiumSharedServer"))) {
+                deviceManager.useSharedServer(configurationLoader);         // One Appium server for all devices
+            }
+            if (Boolean.parseBoolean(configurationLoader.getValue("dynamicPorts"))) {
+                deviceManager.useDynamicPorts(configurationLoader);         // Free ports instead of the JSON ports
+            }
+            String crossProcessLeaseFile = configurationLoader.getValue("crossProcessLeaseFile");
+            if (crossProcessLeaseFile != null && !crossProcessLeaseFile.isEmpty()) {
+                if (!Boolean.parseBoolean(configurationLoader.getValue("dynamicPorts"))
+                        || !Boolean.parseBoolean(configurationLoader.getValue("appiumServerLazyStart"))) {
+                    throw new IllegalStateException("'crossProcessLeaseFile' requires 'dynamicPorts=true' and "
+                            + "'appiumServerLazyStart=true', So the processes don't start servers on the same ports.");
+                }
+                if (Boolean.parseBoolean(configurationLoader.getValue("mobileSessionReuse"))) {
+                    throw new IllegalStateException("'crossProcessLeaseFile' requires 'mobileSessionReuse=false', "
+                            + "So a session parked on a released device isn't kept while another process leases it.");
+                }
+                deviceManager.useCrossProcessLeases(Path.of(crossProcessLeaseFile));  // Shared with other forks/suites
+            }
+            if (Boolean.parseBoolean(configurationLoader.getValue("elasticPoolEnabled"))) {
+                deviceManager.enableElasticPool(EmulatorLauncher.fromConfig(configurationLoader), configurationLoader);
+            }
 
-            deviceManager.startAllServices(configurationLoader);            // Start Appium servers once for all devices
+            if (Boolean.parseBoolean(configurationLoader.getValue("mobileSessionBootstrap"))
+                    && !Boolean.parseBoolean(configurationLoader.getValue("appiumServerLazyStart"))) {
+                bootstrapSessions();                                        // Servers & sessions come up concurrently
+            } else {
+                deviceManager.startAllServices(configurationLoader);        // Start Appium servers in parallel (unless lazy)
+            }
             deviceInitialized = true;
         }
+        GetWebDriver.startPool(configurationLoader.getValue("browserName"), getBrowserModes());  // No-op unless browserPoolEnabled
 
     }
 
@@ -71,59 +120,137 @@ public class BaseTest {
         methodName.set(method.getName());
         log.info("************ Starting method: setup ************");
 
-        Map<String, Object> device = deviceManager.acquireDevice();
-        acquiredDevice.set(device);
+        RequiresDevice requiresDevice = method.isAnnotationPresent(RequiresDevice.class)    // Method overrides class
+                ? method.getAnnotation(RequiresDevice.class)
+                : getClass().getAnnotation(RequiresDevice.class);
+        DeviceLease lease = deviceManager.acquire(DeviceRequirement.from(requiresDevice), getClass().getName(),
+                Duration.ofSeconds(Long.parseLong(configurationLoader.getValue("deviceLeaseTimeoutSeconds", true))));
+        deviceLease.set(lease);                                                // Closed in quitDriver
+        Device device = lease.device();
 
-        URI appiumServerUri = new URI("http://" + configurationLoader.getValue("appiumServerIPAddress")
-                + ":" +((Double) acquiredDevice.get().get("serverPort")).intValue());
-        String platform = configurationLoader.getValue("platform");
-        Map<String, String> mobileConfig = Map.of(
-                "platform", platform,
-                "deviceName", acquiredDevice.get().get("deviceName").toString(),
-                "appLocation", configurationLoader.getValue("appLocation"),
-                "chromeExePath", configurationLoader.getValue("chromeExePath"),
-                "uuid", acquiredDevice.get().get("uuid").toString(),
-                "systemPort", Integer.toString(((Double) acquiredDevice.get().get("systemPort")).intValue()));
-
-
-        GetMobileDriver.getInstance(platform,                                  // Getting MobileDriver instance
-                appiumServerUri,
-                mobileConfig
-        );
+        try {                                                                  // @AfterMethod is skipped if setup fails
+            URI appiumServerUri = deviceManager.getServiceUri(device, configurationLoader);  // Starts it on first lease if lazy
+            String platform = configurationLoader.getValue("platform");
+            Map<String, String> mobileConfig = getMobileConfig(device);
+
+            GetMobileDriver.getInstance(platform,                              // Getting MobileDriver instance
+                    appiumServerUri,
+                    mobileConfig
+            );
+        } catch (Exception e) {
+            deviceManager.recordFailure(device, e);                            // Counts towards quarantine
+            lease.close();
+            deviceLease.remove();
+            throw e;
+        }
+        deviceManager.recordSuccess(device);
         uiActions.set(new UIActions(20, UIActions.platform.mobile));
         softAssert.set(new SoftAssert());
     }
 
 
     @AfterMethod
-    public void quitDriver() {
+    public void quitDriver(ITestResult result) {
         ThreadContext.put("TestName", "quitDriver_" + methodName.get());
         log.info("************ Starting method: 'quitDriver' ************");
-        GetMobileDriver.quitDriver();
+        GetMobileDriver.releaseDriver();                                      // Parks the session when reuse is enabled
 
 
-        Map<String, Object> device = acquiredDevice.get();                    // Release device back to pool
-        if (device != null) {
-            deviceManager.releaseDevice(device);
-            log.info("Device '{}' is released back to pool.", device.get("deviceName"));
+        DeviceLease lease = deviceLease.get();                                // Release device back to pool
+        if (lease != null) {
+            if (isInfrastructureFailure(result.getThrowable())) {
+                deviceManager.recordFailure(lease.device(), result.getThrowable());
+            } else if (result.getStatus() == ITestResult.SUCCESS) {
+                deviceManager.recordSuccess(lease.device());
+            }
+            lease.close();
+            log.info("Device '{}' is released back to pool.", lease.device().deviceName());
         }
         clearThreadLocals();
     }
 
+    /**
+     * @return the comma-separated {@code browserModes} of Config.properties
+     */
+    private String[] getBrowserModes() throws Exception {
+        String modes = configurationLoader.getValue("browserModes");
+        return modes == null ? new String[0] : Arrays.stream(modes.split(","))
+                .map(String::trim)
+                .filter(mode -> !mode.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * @return {@code true} if the test failed because the device/session broke, Not because of an assertion
+     */
+    private static boolean isInfrastructureFailure(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NoSuchSessionException || cause instanceof SessionNotCreatedException
+                    || cause instanceof UnreachableBrowserException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @AfterSuite
     public void stopAppiumServices() {
         ThreadContext.put("TestName", "stopAppiumServices");
         log.info("************ Starting method: stopAppiumServices ************");
+        GetMobileDriver.quitAllSessions();
+        GetWebDriver.stopPool();
         deviceManager.stopAllServices();
+        log.info(deviceManager.getLeaseMetricsReport());
+        log.info(StartupTimings.getMetricsReport());
+        log.info(ElementCache.getMetricsReport());
+        CommandLatencyRecorder.writeReport();
     }
 
 
+    /**
+     * Starts every device's Appium server and creates its session in the background,
+     * So the first wave of tests waits for the slowest device only instead of the sum of all devices.
+     */
+    private void bootstrapSessions() throws Exception {
+        long start = System.nanoTime();
+        String platform = configurationLoader.getValue("platform");
+        List<CompletableFuture<Void>> sessions = new ArrayList<>();
+        for (Device device : deviceManager.getDevices()) {
+            CompletableFuture<URI> serverReady = deviceManager.startServiceAsync(device, configurationLoader);
+            sessions.add(GetMobileDriver.bootstrapSession(platform, serverReady, getMobileConfig(device)));
+        }
+        CompletableFuture.allOf(sessions.toArray(CompletableFuture[]::new))
+                .thenRun(() -> log.info("All '{}' device sessions are bootstrapped in '{}' ms.", sessions.size(),
+                        (System.nanoTime() - start) / 1_000_000));
+    }
+
+    /**
+     * Builds the driver configuration of a device from the JSON device record and Config.properties.
+     */
+    private Map<String, String> getMobileConfig(Device device) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("platform", configurationLoader.getValue("platform"));
+        config.put("deviceName", device.deviceName());
+        config.put("appLocation", configurationLoader.getValue("appLocation"));
+        config.put("chromeExePath", configurationLoader.getValue("chromeExePath"));
+        config.put("uuid", device.uuid());
+        config.put("systemPort", Integer.toString(device.systemPort()));
+        config.put("chromedriverPort", Objects.toString(device.chromedriverPort(), null));
+        config.put("webviewDevtoolsPort", Objects.toString(device.webviewDevtoolsPort(), null));
+        config.put("mjpegServerPort", Objects.toString(device.mjpegServerPort(), null));
+        config.put("appPackage", configurationLoader.getValue("appPackage"));
+        config.put("sessionReuse", configurationLoader.getValue("mobileSessionReuse"));
+        config.put("clearAppData", configurationLoader.getValue("clearAppDataBetweenTests"));
+        config.put("apkInstallCache", configurationLoader.getValue("apkInstallCacheFile"));
+        return config;
+    }
+
     private void clearThreadLocals() {
         softAssert.remove();
         methodName.remove();
         homePage.remove();
         productPage.remove();
-        acquiredDevice.remove();
+        deviceLease.remove();
         homePage.remove();
         productPage.remove();
         cartPage.remove();
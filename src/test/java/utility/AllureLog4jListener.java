@@ -3,11 +3,14 @@ package utility;
 import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
@@ -21,6 +24,8 @@ import org.testng.ITestResult;
  * <ul>
  *   <li>Captures a screenshot if a test fails and attaches it to the Allure report.</li>
  *   <li>Attaches application logs and filtered warn/error logs to the Allure report.</li>
+ *   <li>Attaches the per-command latencies of the test when {@link CommandLatencyRecorder} is enabled.</li>
+ *   <li>Attaches the startup timings of the driver session and webview switches of the test (see {@link StartupTimings}).</li>
  *   <li>Provides post-invocation logic using {@link IInvokedMethodListener}.</li>
  * </ul>
  *
@@ -74,6 +79,17 @@ public class AllureLog4jListener implements IInvokedMethodListener {
                 log.error("Failed to attach logs to Allure");
                 throw new RuntimeException(e);
             }
+
+            List<StartupTimings> startupTimings = StartupTimings.consumeAll();
+            if (!startupTimings.isEmpty()) {            //Empty when the test reused an already started session
+                Allure.addAttachment("Startup Timings", "text/plain",
+                        startupTimings.stream().map(StartupTimings::toString).collect(Collectors.joining("\n")), "txt");
+            }
+
+            String commandLatencies = CommandLatencyRecorder.getTestSummary(ThreadContext.get("TestName"));
+            if (commandLatencies != null) {
+                Allure.addAttachment("Command Latencies", "text/plain", commandLatencies, "txt");
+            }
         }
     }
 
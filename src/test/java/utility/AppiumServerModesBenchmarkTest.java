@@ -0,0 +1,180 @@
+package utility;
+
+import datadriven.ConfigLoader;
+import datadriven.JsonFileManager;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * AppiumServerModesBenchmarkTest compares one shared Appium server with a server per device, On the devices of
+ * jsonNewData.json: The servers' start time, The memory (RSS) of the Appium processes while every device has a session,
+ * And the session start latency when all devices start their sessions at once.
+ * <br>It needs the Appium server of {@code appiumServerPath} and the devices connected to adb, So it's skipped otherwise
+ * (e.g., on CI agents without devices).
+ * <br>The RSS is read from {@code /proc} for the Appium processes started by this JVM, So it's only reported on Linux.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class AppiumServerModesBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String CONFIG_PATH = "src/test/resources/Config.properties";
+    private static final Duration LEASE_TIMEOUT = Duration.ofSeconds(30);
+
+    private ConfigLoader config;
+    private List<Map<String, Object>> devices;
+
+    /**
+     * The measurements of one server mode.
+     */
+    private record Result(int servers, long serverStartMillis, long appiumRssMb, long avgSessionStartMillis,
+                          long maxSessionStartMillis) {
+    }
+
+    @BeforeClass
+    public void checkEnvironment() throws Exception {
+        config = new ConfigLoader(CONFIG_PATH);
+        String appiumServerPath = config.getValue("appiumServerPath");
+        if (appiumServerPath == null || !Files.isRegularFile(Path.of(appiumServerPath.trim()))) {
+            throw new SkipException("Appium server isn't installed at 'appiumServerPath', Skipping the server modes benchmark.");
+        }
+        devices = new JsonFileManager("src/test/resources/jsonNewData.json").getListOfMapsByKey("devices");
+        String connected = connectedDevices();
+        if (devices.stream().anyMatch(device -> !connected.contains(String.valueOf(device.get("uuid"))))) {
+            throw new SkipException("Not all devices of jsonNewData.json are connected, Skipping the server modes benchmark.");
+        }
+    }
+
+    @Test
+    public void compareSharedServerWithServerPerDevice() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("server per device", run(false));
+        results.put("shared server", run(true));
+        results.forEach((mode, result) -> log.info("'{}': '{}' servers started in '{}' ms, Appium RSS '{}' MB, "
+                        + "session start avg '{}' ms, max '{}' ms.", mode, result.servers(), result.serverStartMillis(),
+                result.appiumRssMb() < 0 ? "n/a" : result.appiumRssMb(), result.avgSessionStartMillis(),
+                result.maxSessionStartMillis()));
+    }
+
+    private Result run(boolean sharedServer) throws Exception {
+        DevicesManager deviceManager = new DevicesManager();
+        deviceManager.initialize(devices);
+        if (sharedServer) {
+            deviceManager.useSharedServer(config);
+        }
+        List<DeviceLease> leases = new ArrayList<>();
+        List<AndroidDriver> drivers = new ArrayList<>();
+        try {
+            for (int i = 0; i < devices.size(); i++) {
+                leases.add(deviceManager.acquire(LEASE_TIMEOUT));
+            }
+            long serversStart = System.nanoTime();
+            List<URI> serverUris = new ArrayList<>();
+            for (DeviceLease lease : leases) {
+                serverUris.add(deviceManager.getServiceUri(lease.device(), config));
+            }
+            long serverStartMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - serversStart);
+
+            List<CompletableFuture<Long>> sessionStarts = new ArrayList<>();
+            for (int i = 0; i < leases.size(); i++) {                   // All devices start their sessions at once
+                Device device = leases.get(i).device();
+                URI serverUri = serverUris.get(i);
+                sessionStarts.add(CompletableFuture.supplyAsync(() -> {
+                    long start = System.nanoTime();
+                    AndroidDriver driver = newSession(serverUri, device);
+                    synchronized (drivers) {
+                        drivers.add(driver);
+                    }
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }));
+            }
+            List<Long> sessionMillis = sessionStarts.stream().map(CompletableFuture::join).toList();
+            assertEquals(drivers.size(), devices.size(), "Not every device started a session.");
+            return new Result(sharedServer ? 1 : devices.size(), serverStartMillis, appiumRssMb(),
+                    (long) sessionMillis.stream().mapToLong(Long::longValue).average().orElse(0),
+                    sessionMillis.stream().mapToLong(Long::longValue).max().orElse(0));
+        } finally {
+            drivers.forEach(AndroidDriver::quit);
+            leases.forEach(DeviceLease::close);
+            deviceManager.stopAllServices();
+        }
+    }
+
+    private static AndroidDriver newSession(URI serverUri, Device device) {
+        UiAutomator2Options options = new UiAutomator2Options()
+                .setUdid(device.uuid())
+                .setDeviceName(device.deviceName())
+                .setSystemPort(device.systemPort())
+                .setNoReset(true);                                      // Session on the current screen, No app install
+        if (device.mjpegServerPort() != null) {
+            options.setMjpegServerPort(device.mjpegServerPort());
+        }
+        try {
+            return new AndroidDriver(serverUri.toURL(), options);
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid Appium server URI: " + serverUri, e);
+        }
+    }
+
+    /**
+     * @return the total RSS in MB of the Appium (node) processes started by this JVM and their children,
+     * Or -1 if {@code /proc} isn't available
+     */
+    private static long appiumRssMb() {
+        if (!Files.isDirectory(Path.of("/proc/self"))) {
+            return -1;
+        }
+        long rssKb = ProcessHandle.current().descendants()
+                .filter(process -> process.info().command().map(command -> command.contains("node")).orElse(false))
+                .mapToLong(process -> {
+                    try {
+                        return Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status")).stream()
+                                .filter(line -> line.startsWith("VmRSS:"))
+                                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                                .sum();
+                    } catch (IOException e) {
+                        return 0;                                       // Exited in the meantime
+                    }
+                })
+                .sum();
+        return rssKb / 1024;
+    }
+
+    private String connectedDevices() {
+        try {
+            String adbPath = config.getValue("adbPath");
+            Process adb = new ProcessBuilder(adbPath == null || adbPath.isBlank() ? "adb" : adbPath, "devices")
+                    .redirectErrorStream(true)
+                    .start();
+            if (!adb.waitFor(10, TimeUnit.SECONDS)) {
+                adb.destroyForcibly();
+                return "";
+            }
+            return new String(adb.getInputStream().readAllBytes());
+        } catch (Exception e) {
+            log.debug("Failed to list the adb devices: {}", e.getMessage());
+            return "";
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package utility;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * CrossProcessLeaseTest checks {@link CrossProcessLeaseTable}, The shared leases of {@link ResourcePool} and the shared
+ * port reservations of {@link PortAllocator} against a second JVM, Forked from this class's {@link #main(String[])} with the test classpath.
+ * <br>The forked JVM leases a key, Prints "leased=true|false", And holds the lease until its stdin is closed.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class CrossProcessLeaseTest {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String LEASED_PREFIX = "leased=";
+
+    private Path leaseFile;
+    private CrossProcessLeaseTable table;
+
+    @BeforeClass
+    public void openLeaseTable() throws IOException {
+        leaseFile = Files.createTempFile("lease-table", ".dat");
+        table = CrossProcessLeaseTable.open(leaseFile);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteLeaseTable() throws IOException {
+        table.releaseAll();
+        Files.deleteIfExists(leaseFile);
+    }
+
+    @Test
+    public void secondJvmCannotLeaseHeldKey() throws Exception {
+        assertTrue(table.tryLease("device:held"));
+        Process other = fork("device:held");
+        try {
+            assertFalse(awaitLeased(other), "Second JVM leased a key held by this one.");
+        } finally {
+            other.getOutputStream().close();
+            other.waitFor(10, TimeUnit.SECONDS);
+            table.release("device:held");
+        }
+    }
+
+    @Test
+    public void waiterGetsDeviceReleasedBySecondJvm() throws Exception {
+        ResourcePool<String> pool = new ResourcePool<>("device", device -> device);
+        pool.add("shared");
+        pool.setSharedLeases(table);
+        Process other = fork("device:shared");
+        assertTrue(awaitLeased(other), "Second JVM failed to lease the device.");
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(1000);
+                other.getOutputStream().close();                    // Second JVM releases the device and exits
+            } catch (InterruptedException | IOException e) {
+                log.error("Failed to stop the second JVM: {}", e.getMessage());
+            }
+        });
+        try (ResourcePool.Lease<String> lease = pool.acquire(Duration.ofSeconds(15))) {
+            assertEquals(lease.resource(), "shared");
+            assertTrue(lease.waitedNanos() >= TimeUnit.MILLISECONDS.toNanos(1000),
+                    "Device was leased while the second JVM held it.");
+        } finally {
+            other.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void leaseOfKilledJvmIsReclaimed() throws Exception {
+        Process other = fork("device:crashed");
+        assertTrue(awaitLeased(other), "Second JVM failed to lease the key.");
+        assertTrue(table.isLeased("device:crashed"));
+        assertFalse(table.tryLease("device:crashed"));
+
+        other.destroyForcibly();                                    // No shutdown hook runs, So the slot stays written
+        assertTrue(other.waitFor(10, TimeUnit.SECONDS));
+        assertFalse(table.isLeased("device:crashed"), "Lease of the killed JVM is still reported as held.");
+        assertTrue(table.tryLease("device:crashed"), "Lease of the killed JVM wasn't reclaimed.");
+        table.release("device:crashed");
+    }
+
+    @Test
+    public void portReservedBySecondJvmIsSkipped() throws Exception {
+        int port = 20000 + (int) (ProcessHandle.current().pid() % 20000);
+        PortAllocator allocator = new PortAllocator(Map.of("systemPort", new PortAllocator.PortRange(port, port + 1)));
+        allocator.useSharedReservations(table);
+        Process other = fork("port:" + port);
+        try {
+            assertTrue(awaitLeased(other), "Second JVM failed to reserve the port.");
+            assertEquals(allocator.allocate("systemPort"), port + 1, "Port reserved by the second JVM was handed out.");
+            assertThrows(IllegalStateException.class, () -> allocator.allocate("systemPort"));
+        } finally {
+            other.getOutputStream().close();
+            other.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Process fork(String key) throws IOException {
+        return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), CrossProcessLeaseTest.class.getName(),
+                leaseFile.toString(), key)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    /**
+     * @return the lease result printed by the forked JVM
+     */
+    private static boolean awaitLeased(Process process) throws IOException, InterruptedException {
+        BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        String line;
+        while ((line = output.readLine()) != null) {                // Skips the log lines of the forked JVM
+            if (line.startsWith(LEASED_PREFIX)) {
+                return Boolean.parseBoolean(line.substring(LEASED_PREFIX.length()));
+            }
+        }
+        throw new IllegalStateException("Second JVM exited with '" + process.waitFor() + "' before leasing.");
+    }
+
+    /**
+     * Entry point of the forked JVM.
+     *
+     * @param args the lease table file and the key to lease
+     */
+    public static void main(String[] args) throws IOException {
+        CrossProcessLeaseTable leaseTable = CrossProcessLeaseTable.open(Path.of(args[0]));
+        boolean leased = leaseTable.tryLease(args[1]);
+        System.out.println(LEASED_PREFIX + leased);
+        System.out.flush();
+        while (System.in.read() >= 0) {                             // Holds the lease until the parent closes stdin
+        }
+        if (leased) {
+            leaseTable.release(args[1]);
+        }
+    }
+}
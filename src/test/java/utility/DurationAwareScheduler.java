@@ -0,0 +1,198 @@
+package utility;
+
+import datadriven.ConfigLoader;
+import datadriven.JsonFileManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * DurationAwareScheduler is a TestNG scheduler that runs the longest tests first, So a long test never starts last
+ * and extends the suite, And sizes the suite's worker threads to the number of leasable devices.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Orders test methods by their historical duration, Longest first (tests without history run first).</li>
+ *   <li>Re-ranks the method priorities to the new order, So {@code parallel="methods"} picks them up in that order.</li>
+ *   <li>Records each test's duration and keeps a moving average per test in {@code testDurationsFile} after each run.</li>
+ *   <li>Sets the suite's {@code thread-count} to the devices in jsonNewData.json (or {@code elasticPoolMaxSize}
+ *   if the elastic pool is larger), So no worker thread waits for a device and no device sits idle.</li>
+ * </ul>
+ *
+ * <p>To activate this scheduler, it should be registered in a parallel <code>testng.xml</code>
+ *
+ * <pre>{@code
+ * <listeners>
+ *     <listener class-name="utility.DurationAwareScheduler"/>
+ * </listeners>
+ * }</pre>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class DurationAwareScheduler implements IMethodInterceptor, IAlterSuiteListener, ITestListener, ISuiteListener {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final String CONFIG_PATH = "src/test/resources/Config.properties";
+    private static final String DEFAULT_DURATIONS_FILE = "test-durations.properties";
+    private static final double SMOOTHING = 0.5;                    // Weight of the latest run in the moving average
+
+    private static final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private static volatile Path durationsFile;
+
+    /**
+     * Sizes the {@code thread-count} of parallel suites to the number of leasable devices.
+     *
+     * @param suites the suites to be run
+     */
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int devices = leasableDevices();
+        if (devices <= 0) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() != null && suite.getParallel() != XmlSuite.ParallelMode.NONE) {
+                log.info("Suite '{}' thread-count is set from '{}' to '{}' leasable devices.", suite.getName(),
+                        suite.getThreadCount(), devices);
+                suite.setThreadCount(devices);
+            }
+        }
+    }
+
+    /**
+     * Orders the test methods longest first by their historical durations.
+     *
+     * @param methods the test methods to be run
+     * @param context the test context
+     * @return the methods, Longest first
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        loadDurations();
+        long unknownDuration = Long.MAX_VALUE;                      // No history yet: Assume it's long and start it early
+        List<IMethodInstance> ordered = methods.stream()
+                .sorted(Comparator.comparingLong((IMethodInstance method) ->
+                        durations.getOrDefault(keyOf(method.getMethod()), unknownDuration)).reversed())
+                .toList();
+        for (int rank = 0; rank < ordered.size(); rank++) {
+            ITestNGMethod method = ordered.get(rank).getMethod();
+            method.setPriority(rank);
+            log.info("Scheduled '{}' at '{}' (last duration: '{}' ms).", keyOf(method), rank, durations.get(keyOf(method)));
+        }
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordDuration(result);
+    }
+
+    /**
+     * Saves the test durations of the run.
+     *
+     * @param suite the finished suite
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        saveDurations();
+    }
+
+    private static void recordDuration(ITestResult result) {
+        long duration = result.getEndMillis() - result.getStartMillis();
+        if (duration > 0) {
+            durations.merge(keyOf(result.getMethod()), duration,
+                    (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING));
+        }
+    }
+
+    private static String keyOf(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    private static synchronized void loadDurations() {
+        if (durationsFile != null) {
+            return;
+        }
+        String file = DEFAULT_DURATIONS_FILE;
+        try {
+            String configured = new ConfigLoader(CONFIG_PATH).getValue("testDurationsFile");
+            if (configured != null && !configured.isEmpty()) {
+                file = configured;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read 'testDurationsFile', '{}' will be used: {}", DEFAULT_DURATIONS_FILE, e.getMessage());
+        }
+        durationsFile = Path.of(file);
+        if (Files.isRegularFile(durationsFile)) {
+            Properties stored = new Properties();
+            try (InputStream input = Files.newInputStream(durationsFile)) {
+                stored.load(input);
+                stored.forEach((test, duration) -> durations.putIfAbsent((String) test, Long.parseLong((String) duration)));
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Failed to read the test durations '{}', Tests will run in their default order: {}", durationsFile, e.getMessage());
+            }
+        }
+    }
+
+    private static synchronized void saveDurations() {
+        loadDurations();
+        Properties stored = new Properties();
+        durations.forEach((test, duration) -> stored.setProperty(test, String.valueOf(duration)));
+        try {
+            if (durationsFile.getParent() != null) {
+                Files.createDirectories(durationsFile.getParent());
+            }
+            try (OutputStream output = Files.newOutputStream(durationsFile)) {
+                stored.store(output, "Moving average duration (ms) per test class#method");
+            }
+            log.info("Test durations are saved to '{}'.", durationsFile);
+        } catch (IOException e) {
+            log.error("Failed to save the test durations '{}': {}", durationsFile, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the devices the suite can lease at once, or 0 if they can't be read
+     */
+    private static int leasableDevices() {
+        try {
+            ConfigLoader config = new ConfigLoader(CONFIG_PATH);
+            int devices = new JsonFileManager("src/test/resources/jsonNewData.json").getListOfMapsByKey("devices").size();
+            if (Boolean.parseBoolean(config.getValue("elasticPoolEnabled"))) {
+                devices = Math.max(devices, Integer.parseInt(config.getValue("elasticPoolMaxSize", true)));
+            }
+            return devices;
+        } catch (Exception e) {
+            log.warn("Failed to count the leasable devices, The suite thread-count is kept: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package utility;
+
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * ElasticPoolTest drives the elastic devices pool of {@link DevicesManager} through {@link FakeEmulatorLauncher},
+ * So scaling up on demand, The maximum size and the idle shutdown are checked without Android SDK tools.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class ElasticPoolTest {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+
+    private Path configFile;
+    private DevicesManager deviceManager;
+    private FakeEmulatorLauncher launcher;
+
+    @BeforeMethod
+    public void enableElasticPool() throws Exception {
+        configFile = Files.createTempFile("elastic-pool", ".properties");
+        Files.writeString(configFile, String.join("\n",
+                "fakeEmulatorBootMillis=200",
+                "elasticPoolMinSize=0",
+                "elasticPoolMaxSize=2",
+                "elasticPoolIdleShutdownSeconds=1",
+                "elasticPoolScaleIntervalSeconds=1",
+                "emulatorMemoryMb=0",
+                "elasticPoolMaxCpuLoadPercent=100"));
+        ConfigLoader config = new ConfigLoader(configFile.toString());
+        launcher = new FakeEmulatorLauncher(config);
+        deviceManager = new DevicesManager();
+        deviceManager.initialize(List.of());                        // Every device is booted on demand
+        deviceManager.enableElasticPool(launcher, config);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopElasticPool() throws Exception {
+        deviceManager.stopAllServices();
+        Files.deleteIfExists(configFile);
+    }
+
+    @Test
+    public void poolScalesUpForWaitingTests() throws Exception {
+        try (DeviceLease first = deviceManager.acquire(Duration.ofSeconds(10));
+             DeviceLease second = deviceManager.acquire(Duration.ofSeconds(10))) {
+            assertTrue(first.device().deviceName().startsWith("fake-emulator-"), "First device wasn't launched: " + first.device());
+            assertTrue(second.device().deviceName().startsWith("fake-emulator-"), "Second device wasn't launched: " + second.device());
+            assertEquals(launcher.getLaunches(), 2, "Each waiting test should boot one emulator.");
+            assertEquals(deviceManager.getDevices().size(), 2);
+        }
+    }
+
+    @Test
+    public void poolDoesNotGrowBeyondMaximumSize() throws Exception {
+        try (DeviceLease first = deviceManager.acquire(Duration.ofSeconds(10));
+             DeviceLease second = deviceManager.acquire(Duration.ofSeconds(10))) {
+            assertThrows(IllegalStateException.class, () -> deviceManager.acquire(Duration.ofSeconds(3)));
+            assertEquals(launcher.getLaunches(), 2, "No emulator should be booted beyond 'elasticPoolMaxSize'.");
+        }
+    }
+
+    @Test
+    public void idleEmulatorsAreShutDown() throws Exception {
+        deviceManager.acquire(Duration.ofSeconds(10)).close();
+        assertEquals(launcher.getRunningDevices().size(), 1);
+
+        awaitTrue(() -> launcher.getShutdowns() == 1, Duration.ofSeconds(10));
+        assertTrue(launcher.getRunningDevices().isEmpty(), "Idle emulator is still running: " + launcher.getRunningDevices());
+        assertTrue(deviceManager.getDevices().isEmpty(), "Idle emulator is still pooled: " + deviceManager.getDevices());
+        log.info(deviceManager.getLeaseMetricsReport());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition wasn't met within '" + timeout.toSeconds() + "' seconds.");
+            Thread.sleep(100);
+        }
+    }
+}
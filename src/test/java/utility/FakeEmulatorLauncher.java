@@ -0,0 +1,93 @@
+package utility;
+
+import datadriven.ConfigLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+
+/**
+ * FakeEmulatorLauncher is an {@link EmulatorLauncher} that "boots" devices without starting any emulator,
+ * Used to exercise the elastic devices pool (scaling up, idle shutdown, min/max size) without Android SDK tools.
+ *
+ * <p>Key Features:
+ * <ul>
+ *   <li>Simulates the boot time with {@code fakeEmulatorBootMillis} (0 by default).</li>
+ *   <li>Launches devices of {@code emulatorFormFactor} and {@code emulatorApiLevel}, Like {@link AvdEmulatorLauncher}.</li>
+ *   <li>Counts launches and shutdowns, And keeps the currently running fake devices.</li>
+ * </ul>
+ *
+ * <p>Configuration:
+ * <ul>
+ *   <li>Selected by <code>emulatorLauncher=utility.FakeEmulatorLauncher</code> in the Config.properties file.</li>
+ * </ul>
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class FakeEmulatorLauncher implements EmulatorLauncher {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+
+    private final long bootMillis;
+    private final String formFactor;
+    private final Integer apiLevel;
+    private final AtomicInteger launches = new AtomicInteger();
+    private final AtomicInteger shutdowns = new AtomicInteger();
+    private final Set<String> runningDevices = ConcurrentHashMap.newKeySet();
+
+    public FakeEmulatorLauncher(ConfigLoader config) throws Exception {
+        String configuredBootMillis = config.getValue("fakeEmulatorBootMillis");
+        this.bootMillis = configuredBootMillis == null || configuredBootMillis.isEmpty() ? 0 : Long.parseLong(configuredBootMillis);
+        this.formFactor = config.getValue("emulatorFormFactor");
+        String configuredApiLevel = config.getValue("emulatorApiLevel");
+        this.apiLevel = configuredApiLevel == null || configuredApiLevel.isEmpty() ? null : Integer.parseInt(configuredApiLevel);
+    }
+
+    @Override
+    public Device launch() throws Exception {
+        String uuid = "fake-emulator-" + launches.incrementAndGet();
+        Thread.sleep(bootMillis);
+        runningDevices.add(uuid);
+        log.info("Fake emulator '{}' is booted.", uuid);
+        return new Device(uuid, uuid, 0, 0, null, null, null, formFactor, apiLevel);
+    }
+
+    @Override
+    public void shutdown(Device device) {
+        if (runningDevices.remove(device.uuid())) {
+            shutdowns.incrementAndGet();
+            log.info("Fake emulator '{}' is shut down.", device.uuid());
+        }
+    }
+
+    @Override
+    public boolean canLaunch(DeviceRequirement requirement) {
+        return requirement.matches(new Device("fake-emulator", "fake-emulator", 0, 0, null, null, null, formFactor, apiLevel));
+    }
+
+    /**
+     * @return the number of devices launched so far
+     */
+    public int getLaunches() {
+        return launches.get();
+    }
+
+    /**
+     * @return the number of devices shut down so far
+     */
+    public int getShutdowns() {
+        return shutdowns.get();
+    }
+
+    /**
+     * @return the uuids of the fake devices currently running
+     */
+    public Set<String> getRunningDevices() {
+        return Set.copyOf(runningDevices);
+    }
+}
@@ -0,0 +1,104 @@
+package utility;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * ResourcePoolBenchmarkTest measures the fair-lock hand-off of {@link ResourcePool} under contention:
+ * N threads lease and release M resources in a loop, Holding each lease for a short simulated use.
+ * <br>For each thread count it reports the lease throughput and the queue wait percentiles, And checks that no resource
+ * is ever leased twice at once and that no lease times out.
+ *
+ * @author Hossam Atef
+ * @version 1.0
+ */
+public class ResourcePoolBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(lookup().lookupClass());
+    private static final int RESOURCES = 4;
+    private static final int[] THREADS = {4, 16, 64};
+    private static final int LEASES_PER_THREAD = 200;
+    private static final long HOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final Duration LEASE_TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    public void fairHandOffUnderContention() throws Exception {
+        for (int threads : THREADS) {
+            ResourcePool<String> pool = new ResourcePool<>("resource", resource -> resource);
+            pool.addAll(IntStream.range(0, RESOURCES).mapToObj(i -> "resource-" + i).toList());
+            Set<String> leased = ConcurrentHashMap.newKeySet();
+            AtomicInteger doubleLeases = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> workers = new ArrayList<>();
+            List<Long> waits = new ArrayList<>();
+            long elapsedNanos;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (int t = 0; t < threads; t++) {
+                    workers.add(executor.submit(() -> {
+                        long[] threadWaits = new long[LEASES_PER_THREAD];
+                        start.await();
+                        for (int i = 0; i < LEASES_PER_THREAD; i++) {
+                            try (ResourcePool.Lease<String> lease = pool.acquire(LEASE_TIMEOUT)) {
+                                threadWaits[i] = lease.waitedNanos();
+                                if (!leased.add(lease.resource())) {
+                                    doubleLeases.incrementAndGet();
+                                }
+                                LockSupport.parkNanos(HOLD_NANOS);      // Simulated use of the resource
+                                leased.remove(lease.resource());
+                            }
+                        }
+                        return threadWaits;
+                    }));
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                for (Future<long[]> worker : workers) {
+                    Arrays.stream(worker.get()).forEach(waits::add);
+                }
+                elapsedNanos = System.nanoTime() - begin;
+            } finally {
+                executor.shutdownNow();
+            }
+
+            waits.sort(null);
+            assertEquals(waits.size(), threads * LEASES_PER_THREAD);
+            assertEquals(doubleLeases.get(), 0, "A resource was leased by two threads at once.");
+            assertEquals(pool.getTimeouts(), 0L, "Leases timed out under contention.");
+            assertEquals(pool.getFreeResources().size(), RESOURCES, "Resources weren't all returned to the pool.");
+            double throughput = waits.size() / (elapsedNanos / 1_000_000_000.0);
+            log.info("'{}' threads on '{}' resources: '{}' leases/s, Wait p50 '{}' us, p95 '{}' us, p99 '{}' us, max '{}' us.",
+                    threads, RESOURCES, Math.round(throughput), micros(percentile(waits, 50)), micros(percentile(waits, 95)),
+                    micros(percentile(waits, 99)), micros(waits.get(waits.size() - 1)));
+            assertTrue(throughput > 0);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1));
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}